@@ -43,6 +43,41 @@ public class AdminController {
         return adminService.updateUser(email,newEmail, username, password, admin, verified);
     }
 
+    @GetMapping("/contentcachestats")
+    public ResponseEntity<Object> getContentCacheStats() {
+        return adminService.getContentCacheStats();
+    }
+
+    @GetMapping("/userstatecachestats")
+    public ResponseEntity<Object> getUserStateCacheStats() {
+        return adminService.getUserStateCacheStats();
+    }
+
+    @GetMapping("/compressionstats")
+    public ResponseEntity<Object> getCompressionStats() {
+        return adminService.getCompressionStats();
+    }
+
+    @GetMapping("/datasourcestats")
+    public ResponseEntity<Object> getDataSourceStats() {
+        return adminService.getDataSourceStats();
+    }
+
+    @PostMapping("/rerendercontent")
+    public ResponseEntity<Object> rerenderContent() {
+        return adminService.rerenderContent();
+    }
+
+    @PostMapping("/rebuildsnapshot")
+    public ResponseEntity<Object> rebuildSnapshot() {
+        return adminService.rebuildSnapshot();
+    }
+
+    @PostMapping("/rebuildsearchindex")
+    public ResponseEntity<Object> rebuildSearchIndex() {
+        return adminService.rebuildSearchIndex();
+    }
+
     @DeleteMapping("/deleteuser")
     public ResponseEntity<Object> deleteUser(@RequestBody Map<String, String> request) {
         String email = request.get("email");
@@ -1,11 +1,21 @@
 package com.portfolio.cms.Controller;
 
+import com.portfolio.cms.Service.ContentImportService;
+import com.portfolio.cms.Service.ContentRevisionService;
 import com.portfolio.cms.Service.ContentService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
 @CrossOrigin("*")
 @RestController
 @RequestMapping("/api/content")
@@ -14,30 +24,121 @@ public class ContentController {
     @Autowired
     private ContentService contentService;
 
-    // Get all content
+    @Autowired
+    private ContentImportService contentImportService;
+
+    @Autowired
+    private ContentRevisionService contentRevisionService;
+
+    // Get all content (unbounded, kept for existing clients - prefer /list)
     @GetMapping("/getallcontent")
     public ResponseEntity<Object> getAllContent() {
         return contentService.getAllContent();
     }
 
+    // Get one page of content, newest first. Pass the returned nextCursor as "after" for the next page
+    @GetMapping("/list")
+    public ResponseEntity<Object> getContentPage(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        return contentService.getContentPage(after, size, webRequest);
+    }
+
+    // Export all content as NDJSON, one post per line. "since" (ISO date-time) limits it to posts
+    // changed from then on, "gzip=true" compresses the stream
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportContent(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return contentService.exportContent(since, gzip);
+    }
+
+    // Full-text search over titles, excerpts and bodies, best match first
+    @GetMapping("/search")
+    public ResponseEntity<Object> searchContent(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        return contentService.searchContent(q, page, size);
+    }
+
+    // Post counts overall, per author and per month, and the latest change
+    @GetMapping("/stats")
+    public ResponseEntity<Object> getContentStats() {
+        return contentService.getContentStats();
+    }
+
+    // Post count and latest change of one author
+    @GetMapping("/stats/author/{authorId}")
+    public ResponseEntity<Object> getAuthorContentStats(@PathVariable Integer authorId) {
+        return contentService.getAuthorContentStats(authorId);
+    }
+
+    // Most-read posts of the last hour ("1h") or day ("24h"), refreshed every few seconds
+    @GetMapping("/trending")
+    public ResponseEntity<Object> getTrendingContent(
+            @RequestParam(defaultValue = "1h") String window,
+            @RequestParam(required = false) Integer limit) {
+        return contentService.getTrendingContent(window, limit);
+    }
+
+    // Read counts for several posts, e.g. ?ids=1,2,3 for the cards on a page
+    @GetMapping("/views")
+    public ResponseEntity<Object> getContentViews(@RequestParam List<Integer> ids) {
+        return contentService.getContentViews(ids);
+    }
+
+    // The body of a post as a sanitized HTML fragment, pre-rendered from its EditorJS blocks
+    @GetMapping("/{id}/html")
+    public ResponseEntity<Object> getContentHtml(@PathVariable Integer id, WebRequest webRequest) {
+        return contentService.getContentHtml(id, webRequest);
+    }
+
+    // Read count of one post
+    @GetMapping("/{id}/views")
+    public ResponseEntity<Object> getContentViews(@PathVariable Integer id) {
+        return contentService.getContentViews(id);
+    }
+
     // Get content by id
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getContentById(@PathVariable Integer id) {
-        return contentService.getContentById(id);
+    public ResponseEntity<Object> getContentById(@PathVariable Integer id, WebRequest webRequest) {
+        return contentService.getContentById(id, webRequest);
     }
 
-    // Get content by author id
+    // Get content by author id (unbounded, kept for existing clients - prefer /author/{authorId}/list)
     @GetMapping("/author/{authorId}")
-    public ResponseEntity<Object> getContentByAuthorId(@PathVariable Integer authorId) {
-        return contentService.getContentByAuthorId(authorId);
+    public ResponseEntity<Object> getContentByAuthorId(@PathVariable Integer authorId, WebRequest webRequest) {
+        return contentService.getContentByAuthorId(authorId, webRequest);
     }
 
-    // Get content by authenticated user
+    // Get one page of an author's content, newest first. Pass the returned nextCursor as "after" for the next page
+    @GetMapping("/author/{authorId}/list")
+    public ResponseEntity<Object> getAuthorContentPage(
+            @PathVariable Integer authorId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        return contentService.getAuthorContentPage(authorId, after, size, webRequest);
+    }
+
+    // Get content by authenticated user (unbounded, kept for existing clients - prefer /user/list)
     @GetMapping("/user")
     public ResponseEntity<Object> getContentByUserToken(HttpServletRequest request) {
         return contentService.getContentByUserToken(request);
     }
 
+    // Get one page of the authenticated user's content, newest first
+    @GetMapping("/user/list")
+    public ResponseEntity<Object> getUserContentPage(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer size,
+            HttpServletRequest request,
+            WebRequest webRequest) {
+        return contentService.getUserContentPage(after, size, request, webRequest);
+    }
+
     // Create new content
     @PostMapping("/addcontent")
     public ResponseEntity<Object> createContent(
@@ -49,7 +150,15 @@ public class ContentController {
         return contentService.createContent(title, excerpt, data, image, request);
     }
 
-    // Update content
+    // Bulk import from an NDJSON body, one post per line: title, excerpt, data, image,
+    // createdAt, updatedAt and (admins only) authorEmail
+    @PostMapping("/import")
+    public ResponseEntity<Object> importContent(HttpServletRequest request) {
+        return contentImportService.importContent(request);
+    }
+
+    // Update content. With If-Match set to the post's ETag, an edit made against an older
+    // version is refused with 412 rather than overwriting what was saved since
     @PutMapping("/update/{id}")
     public ResponseEntity<Object> updateContentPost(
             @PathVariable Integer id,
@@ -62,9 +171,36 @@ public class ContentController {
         return contentService.updateContent(id, title, excerpt, data, image, request);
     }
 
+    // Patch the body with an RFC 6902 JSON Patch; needs If-Match with the post's ETag
+    @PatchMapping(value = "/{id}", consumes = {"application/json-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Object> patchContent(@PathVariable Integer id, @RequestBody String patch,
+                                               HttpServletRequest request) {
+        return contentService.patchContent(id, patch, request);
+    }
+
     // Delete content
     @DeleteMapping("/delete/{id}")
     public ResponseEntity<Object> deleteContent(@PathVariable Integer id, HttpServletRequest request) {
         return contentService.deleteContent(id, request);
     }
-}
\ No newline at end of file
+
+    // List the saved versions of a post, newest first (author or admin only)
+    @GetMapping("/{id}/revisions")
+    public ResponseEntity<Object> getRevisions(@PathVariable Integer id, HttpServletRequest request) {
+        return contentRevisionService.getRevisions(id, request);
+    }
+
+    // Get one saved version of a post, including its body
+    @GetMapping("/{id}/revisions/{revision}")
+    public ResponseEntity<Object> getRevision(@PathVariable Integer id, @PathVariable int revision,
+                                              HttpServletRequest request) {
+        return contentRevisionService.getRevision(id, revision, request);
+    }
+
+    // Bring back the title, excerpt and body of a saved version as a new edit
+    @PostMapping("/{id}/revisions/{revision}/restore")
+    public ResponseEntity<Object> restoreRevision(@PathVariable Integer id, @PathVariable int revision,
+                                                  HttpServletRequest request) {
+        return contentRevisionService.restoreRevision(id, revision, request);
+    }
+}
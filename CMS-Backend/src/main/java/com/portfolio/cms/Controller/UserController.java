@@ -5,7 +5,10 @@ import com.portfolio.cms.Model.User;
 import com.portfolio.cms.Service.UserService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 @CrossOrigin("*")
@@ -16,6 +19,13 @@ public class UserController {
     @Autowired
     UserService userService;
 
+    // Another change to the same user committed first; surfaces from the commit, after the service returned
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleConcurrentUpdate(HttpServletRequest request) {
+        return new ResponseEntity<>("User details have changed since they were read",
+                request.getHeader(HttpHeaders.IF_MATCH) != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT);
+    }
+
     @GetMapping("/getuserdetails")
     public ResponseEntity<Object> getUserDetails(HttpServletRequest request) {
         return userService.getUserDetails(
@@ -0,0 +1,64 @@
+package com.portfolio.cms.DTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ContentImportResultDTO {
+    private int imported;
+    private int failed;
+    private List<RowError> errors = new ArrayList<>(); // Capped, see "failed" for the full count
+
+    // Getters and Setters
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    public static class RowError {
+        private int line; // 1-based line of the NDJSON input
+        private String message;
+
+        public RowError() {
+        }
+
+        public RowError(int line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public void setLine(int line) {
+            this.line = line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
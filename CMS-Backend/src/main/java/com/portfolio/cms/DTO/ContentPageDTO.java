@@ -0,0 +1,33 @@
+package com.portfolio.cms.DTO;
+
+import java.util.List;
+
+public class ContentPageDTO {
+    private List<ContentSummaryDTO> items;
+    private String nextCursor; // Opaque cursor for the next page, null on the last page
+
+    public ContentPageDTO() {
+    }
+
+    public ContentPageDTO(List<ContentSummaryDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<ContentSummaryDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ContentSummaryDTO> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,59 @@
+package com.portfolio.cms.DTO;
+
+public class ContentRevisionDTO {
+    private int revision;
+    private String date; // Formatted date string
+    private Integer editorId; // Will contain the user ID of whoever saved it
+    private String title;
+    private String excerpt;
+    private String data; // Only filled in when a single revision is requested
+
+    // Getters and Setters
+    public int getRevision() {
+        return revision;
+    }
+
+    public void setRevision(int revision) {
+        this.revision = revision;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public void setDate(String date) {
+        this.date = date;
+    }
+
+    public Integer getEditorId() {
+        return editorId;
+    }
+
+    public void setEditorId(Integer editorId) {
+        this.editorId = editorId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getExcerpt() {
+        return excerpt;
+    }
+
+    public void setExcerpt(String excerpt) {
+        this.excerpt = excerpt;
+    }
+
+    public String getData() {
+        return data;
+    }
+
+    public void setData(String data) {
+        this.data = data;
+    }
+}
@@ -0,0 +1,53 @@
+package com.portfolio.cms.DTO;
+
+import java.util.List;
+
+public class ContentSearchDTO {
+    private List<ContentSummaryDTO> items; // Best match first
+    private long totalHits;
+    private int page;
+    private int size;
+
+    public ContentSearchDTO() {
+    }
+
+    public ContentSearchDTO(List<ContentSummaryDTO> items, long totalHits, int page, int size) {
+        this.items = items;
+        this.totalHits = totalHits;
+        this.page = page;
+        this.size = size;
+    }
+
+    // Getters and Setters
+    public List<ContentSummaryDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<ContentSummaryDTO> items) {
+        this.items = items;
+    }
+
+    public long getTotalHits() {
+        return totalHits;
+    }
+
+    public void setTotalHits(long totalHits) {
+        this.totalHits = totalHits;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+}
@@ -0,0 +1,62 @@
+package com.portfolio.cms.DTO;
+
+import java.util.List;
+
+public class ContentTrendingDTO {
+    private String window; // e.g. "1h" or "24h"
+    private List<Item> items; // Most read first
+
+    public ContentTrendingDTO() {
+    }
+
+    public ContentTrendingDTO(String window, List<Item> items) {
+        this.window = window;
+        this.items = items;
+    }
+
+    // Getters and Setters
+    public String getWindow() {
+        return window;
+    }
+
+    public void setWindow(String window) {
+        this.window = window;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+
+    public static class Item {
+        private ContentSummaryDTO content;
+        private long views; // Estimated reads within the window
+
+        public Item() {
+        }
+
+        public Item(ContentSummaryDTO content, long views) {
+            this.content = content;
+            this.views = views;
+        }
+
+        public ContentSummaryDTO getContent() {
+            return content;
+        }
+
+        public void setContent(ContentSummaryDTO content) {
+            this.content = content;
+        }
+
+        public long getViews() {
+            return views;
+        }
+
+        public void setViews(long views) {
+            this.views = views;
+        }
+    }
+}
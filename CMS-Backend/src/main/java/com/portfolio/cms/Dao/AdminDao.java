@@ -1,13 +1,19 @@
 package com.portfolio.cms.Dao;
 
 import com.portfolio.cms.Model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AdminDao extends JpaRepository<User, Integer> {
     Optional<User> findByEmail(String email);
 
+    // The user list is serialized with each user's posts; load them in the same query
+    @Override
+    @EntityGraph(attributePaths = "contents")
+    List<User> findAll();
 }
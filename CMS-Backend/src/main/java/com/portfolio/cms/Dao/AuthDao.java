@@ -3,6 +3,8 @@ package com.portfolio.cms.Dao;
 import com.portfolio.cms.Model.User;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,4 +12,8 @@ import java.util.Optional;
 @Repository
 public interface AuthDao extends JpaRepository<User,Integer> {
     Optional<Object> findByEmail(String email);
+
+    // Just the flag the request filter needs, without loading the user
+    @Query("SELECT u.admin FROM User u WHERE u.email = :email")
+    Optional<Boolean> findAdminByEmail(@Param("email") String email);
 }
@@ -0,0 +1,10 @@
+package com.portfolio.cms.Dao;
+
+import java.time.LocalDateTime;
+
+// Post count and latest change of one author, for rebuilding ContentStats
+public interface AuthorContentCountView {
+    Integer getAuthorId();
+    Long getPosts();
+    LocalDateTime getLastUpdated();
+}
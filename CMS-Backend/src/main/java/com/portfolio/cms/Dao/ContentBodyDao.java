@@ -0,0 +1,29 @@
+package com.portfolio.cms.Dao;
+
+import com.portfolio.cms.Model.ContentBody;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+// Keyed by content id
+@Repository
+public interface ContentBodyDao extends JpaRepository<ContentBody, Integer> {
+
+    // Overwrites the body and its rendered HTML without reading the old ones first.
+    // Returns 0 if the post has no body row
+    @Modifying
+    @Query("UPDATE ContentBody b SET b.data = :data, b.html = :html, b.htmlVersion = :htmlVersion " +
+            "WHERE b.contentId = :contentId")
+    int updateData(@Param("contentId") Integer contentId, @Param("data") String data,
+                   @Param("html") String html, @Param("htmlVersion") Integer htmlVersion);
+
+    // Just the rendered HTML and what its validators are built from, leaving the source body unread
+    @Query("SELECT b.html AS html, b.htmlVersion AS htmlVersion, c.version AS version, " +
+            "COALESCE(c.updatedAt, c.createdAt) AS lastModified " +
+            "FROM ContentBody b JOIN b.content c WHERE b.contentId = :contentId")
+    Optional<ContentHtmlView> findHtmlById(@Param("contentId") Integer contentId);
+}
@@ -2,14 +2,143 @@ package com.portfolio.cms.Dao;
 
 import com.portfolio.cms.Model.Content;
 import com.portfolio.cms.Model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ContentDao extends JpaRepository<Content, Integer> {
+
+    // Card columns plus the author's id and username, joined in the same statement
+    String SUMMARY_SELECT = "SELECT c.id AS id, c.title AS title, c.excerpt AS excerpt, c.image AS image, " +
+            "c.createdAt AS createdAt, c.updatedAt AS updatedAt, " +
+            "a.id AS authorId, a.username AS authorUsername " +
+            "FROM Content c JOIN c.author a ";
+
+    String EXPORT_SELECT = "SELECT c.id AS id, c.title AS title, c.excerpt AS excerpt, c.image AS image, " +
+            "c.createdAt AS createdAt, c.updatedAt AS updatedAt, " +
+            "a.id AS authorId, a.username AS authorUsername, b.data AS data " +
+            "FROM Content c JOIN c.author a LEFT JOIN ContentBody b ON b.content = c ";
+
+    String SNAPSHOT_SELECT = "SELECT c.id AS id, c.title AS title, c.excerpt AS excerpt, c.image AS image, " +
+            "c.createdAt AS createdAt, c.updatedAt AS updatedAt, " +
+            "a.id AS authorId, a.username AS authorUsername, " +
+            "b.data AS data, b.html AS html, b.htmlVersion AS htmlVersion " +
+            "FROM Content c JOIN c.author a LEFT JOIN ContentBody b ON b.content = c ";
+
+    // Entity reads join the author in, so callers can use getAuthor() without another query
+    @Override
+    @EntityGraph(attributePaths = "author")
+    Optional<Content> findById(Integer id);
+
+    @EntityGraph(attributePaths = "author")
     List<Content> findByAuthor(User author);
+
+    @EntityGraph(attributePaths = "author")
     List<Content> findByAuthorId(Integer authorId);
+
+    @EntityGraph(attributePaths = "author")
     List<Content> findByTitleContainingIgnoreCase(String title);
-}
\ No newline at end of file
+
+    // Ids of an author's posts, for cleaning up what the cascade on deleting the author misses
+    @Query("SELECT c.id FROM Content c WHERE c.author.id = :authorId")
+    List<Integer> findIdsByAuthorId(@Param("authorId") Integer authorId);
+
+    // Rows with their body in id order, for rebuilding the search index batch by batch
+    @Query(EXPORT_SELECT + "WHERE c.id > :id ORDER BY c.id")
+    List<ContentExportView> findExportBatchAfter(@Param("id") Integer id, Pageable pageable);
+
+    // Version and last-modified time of a post without loading the row, for conditional requests
+    @Query("SELECT c.version AS version, COALESCE(c.updatedAt, c.createdAt) AS lastModified " +
+            "FROM Content c WHERE c.id = :id")
+    Optional<ContentVersionView> findVersionById(@Param("id") Integer id);
+
+    // Applies an edit only if nobody has saved the post since it was read at that version, in one
+    // statement, so no row lock is held while the edit is prepared. 0 means the version moved on.
+    // Clears the persistence context: a Content loaded earlier must not be flushed over this
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Content c SET c.title = :title, c.excerpt = :excerpt, c.image = :image, " +
+            "c.updatedAt = :updatedAt, c.version = c.version + 1 WHERE c.id = :id AND c.version = :version")
+    int updateIfVersion(@Param("id") Integer id, @Param("version") long version, @Param("title") String title,
+                        @Param("excerpt") String excerpt, @Param("image") String image,
+                        @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query(SUMMARY_SELECT)
+    List<ContentSummaryView> findAllSummaries();
+
+    @Query(SUMMARY_SELECT + "WHERE c.id IN :ids")
+    List<ContentSummaryView> findSummariesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Every post of an author, newest first (unbounded; the paged feed below is preferred)
+    @Query(SUMMARY_SELECT + "WHERE c.author.id = :authorId ORDER BY c.createdAt DESC, c.id DESC")
+    List<ContentSummaryView> findSummariesByAuthorId(@Param("authorId") Integer authorId);
+
+    // Author feed pages. Both seek idx_content_author_created_at_id and stop after the page,
+    // however many posts the author has written
+    @Query(SUMMARY_SELECT + "WHERE c.author.id = :authorId ORDER BY c.createdAt DESC, c.id DESC")
+    List<ContentSummaryView> findAuthorFirstPage(@Param("authorId") Integer authorId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT +
+            "WHERE c.author.id = :authorId " +
+            "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<ContentSummaryView> findAuthorPageAfter(@Param("authorId") Integer authorId,
+                                                 @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Integer id,
+                                                 Pageable pageable);
+
+    @Query("SELECT c.author.id AS authorId, COUNT(c) AS posts, " +
+            "MAX(COALESCE(c.updatedAt, c.createdAt)) AS lastUpdated " +
+            "FROM Content c GROUP BY c.author.id")
+    List<AuthorContentCountView> countByAuthor();
+
+    @Query("SELECT YEAR(c.createdAt) AS year, MONTH(c.createdAt) AS month, COUNT(c) AS posts " +
+            "FROM Content c GROUP BY YEAR(c.createdAt), MONTH(c.createdAt)")
+    List<MonthContentCountView> countByMonth();
+
+    // First page of the newest-first listing
+    @Query(SUMMARY_SELECT + "ORDER BY c.createdAt DESC, c.id DESC")
+    List<ContentSummaryView> findFirstPage(Pageable pageable);
+
+    // Next page after the (createdAt, id) of the last row the client has seen
+    @Query(SUMMARY_SELECT +
+            "WHERE c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<ContentSummaryView> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Integer id,
+                                           Pageable pageable);
+
+    // Everything the static snapshot writes for these posts, in one statement
+    @Query(SNAPSHOT_SELECT + "WHERE c.id IN :ids")
+    List<ContentSnapshotView> findSnapshotsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query(SNAPSHOT_SELECT + "WHERE c.id > :id ORDER BY c.id")
+    List<ContentSnapshotView> findSnapshotBatchAfter(@Param("id") Integer id, Pageable pageable);
+
+    // The whole newest-first listing in one streamed statement, for cutting into static pages.
+    // Must run in a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query(SUMMARY_SELECT + "ORDER BY c.createdAt DESC, c.id DESC")
+    Stream<ContentSummaryView> streamNewestFirst();
+
+    // Forward-only export in id order. A fetch size of Integer.MIN_VALUE makes MySQL Connector/J
+    // stream rows one at a time instead of buffering the whole result set. Must run in a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query(EXPORT_SELECT +
+            "WHERE :since IS NULL OR COALESCE(c.updatedAt, c.createdAt) >= :since " +
+            "ORDER BY c.id")
+    Stream<ContentExportView> streamForExport(@Param("since") LocalDateTime since);
+}
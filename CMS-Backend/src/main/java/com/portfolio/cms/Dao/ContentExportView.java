@@ -0,0 +1,6 @@
+package com.portfolio.cms.Dao;
+
+// Summary columns plus the body, for streaming exports
+public interface ContentExportView extends ContentSummaryView {
+    String getData();
+}
@@ -0,0 +1,11 @@
+package com.portfolio.cms.Dao;
+
+import java.time.LocalDateTime;
+
+// Pre-rendered HTML of a post, for GET /api/content/{id}/html
+public interface ContentHtmlView {
+    String getHtml();
+    Integer getHtmlVersion();
+    Long getVersion();
+    LocalDateTime getLastModified();
+}
@@ -0,0 +1,26 @@
+package com.portfolio.cms.Dao;
+
+import com.portfolio.cms.Model.ContentRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ContentRevisionDao extends JpaRepository<ContentRevision, Long> {
+
+    boolean existsByContentId(Integer contentId);
+
+    Optional<ContentRevision> findFirstByContentIdOrderByRevisionDesc(Integer contentId);
+
+    List<ContentRevisionSummaryView> findByContentIdOrderByRevisionDesc(Integer contentId);
+
+    Optional<ContentRevision> findByContentIdAndRevision(Integer contentId, int revision);
+
+    // Where reconstruction of a revision starts
+    Optional<ContentRevision> findFirstByContentIdAndSnapshotTrueAndRevisionLessThanEqualOrderByRevisionDesc(
+            Integer contentId, int revision);
+
+    List<ContentRevision> findByContentIdAndRevisionBetweenOrderByRevisionAsc(Integer contentId, int from, int to);
+}
@@ -0,0 +1,12 @@
+package com.portfolio.cms.Dao;
+
+import java.time.LocalDateTime;
+
+// Revision list entry. Never touches the payload
+public interface ContentRevisionSummaryView {
+    int getRevision();
+    LocalDateTime getCreatedAt();
+    Integer getEditorId();
+    String getTitle();
+    String getExcerpt();
+}
@@ -0,0 +1,7 @@
+package com.portfolio.cms.Dao;
+
+// A post with its body and rendered HTML, for the static snapshot
+public interface ContentSnapshotView extends ContentExportView {
+    String getHtml();
+    Integer getHtmlVersion();
+}
@@ -0,0 +1,15 @@
+package com.portfolio.cms.Dao;
+
+import java.time.LocalDateTime;
+
+// Projection of the columns a content card needs. Never touches the data body.
+public interface ContentSummaryView {
+    Integer getId();
+    String getTitle();
+    String getExcerpt();
+    String getImage();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getUpdatedAt();
+    Integer getAuthorId();
+    String getAuthorUsername();
+}
@@ -0,0 +1,9 @@
+package com.portfolio.cms.Dao;
+
+import java.time.LocalDateTime;
+
+// What the validators of a post are built from, without its columns
+public interface ContentVersionView {
+    Long getVersion();
+    LocalDateTime getLastModified();
+}
@@ -0,0 +1,23 @@
+package com.portfolio.cms.Dao;
+
+import com.portfolio.cms.Model.ContentViewCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+// Keyed by content id. Counts are written by ContentViewCounter, never through this repository
+@Repository
+public interface ContentViewCountDao extends JpaRepository<ContentViewCount, Integer> {
+
+    @Modifying
+    @Query("DELETE FROM ContentViewCount v WHERE v.contentId = :contentId")
+    int deleteByContentId(@Param("contentId") Integer contentId);
+
+    @Modifying
+    @Query("DELETE FROM ContentViewCount v WHERE v.contentId IN :contentIds")
+    int deleteByContentIdIn(@Param("contentIds") Collection<Integer> contentIds);
+}
@@ -0,0 +1,8 @@
+package com.portfolio.cms.Dao;
+
+// Posts created in one calendar month, for rebuilding ContentStats
+public interface MonthContentCountView {
+    Integer getYear();
+    Integer getMonth();
+    Long getPosts();
+}
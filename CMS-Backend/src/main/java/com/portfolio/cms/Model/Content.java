@@ -10,19 +10,32 @@ import java.time.LocalDateTime;
 @Setter
 @Getter
 @Entity
+@Table(indexes = {
+        // Backs the keyset-paginated listing (ORDER BY created_at DESC, id DESC)
+        @Index(name = "idx_content_created_at_id", columnList = "created_at, id"),
+        // Backs the author feed (WHERE author_id = ? ORDER BY created_at DESC, id DESC), so a page
+        // is a short range read instead of a sort of everything the author has written
+        @Index(name = "idx_content_author_created_at_id", columnList = "author_id, created_at DESC, id DESC")
+})
 public class Content {
 
+    // Ids are handed out in blocks, so a node only touches content_seq once per block
+    public static final int ID_BLOCK_SIZE = 1000;
+
     // Getters and Setters
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "content_id")
+    @SequenceGenerator(name = "content_id", sequenceName = "content_seq", allocationSize = ID_BLOCK_SIZE)
     private Integer id;
 
     private String title;
     private String excerpt;
 
     // Link to the user who created this content
+    // Lazy so derived queries never issue a select per author; read paths that need
+    // the author fetch it in the same statement (see ContentDao)
     @JsonBackReference
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", nullable = false)
     private User author;
 
@@ -31,9 +44,10 @@ public class Content {
 
     private String image;
 
-    // Store the JSON data as a string
-    @Column(columnDefinition = "TEXT")
-    private String data;
+    // Bumped by every edit (see ContentDao.updateIfVersion) and carried in the post's ETag,
+    // so an edit made against an older version is refused instead of overwriting a newer one
+    @Version
+    private long version;
 
     public Integer getId() {
         return id;
@@ -91,12 +105,12 @@ public class Content {
         this.image = image;
     }
 
-    public String getData() {
-        return data;
+    public long getVersion() {
+        return version;
     }
 
-    public void setData(String data) {
-        this.data = data;
+    public void setVersion(long version) {
+        this.version = version;
     }
 
     // Default constructor
@@ -0,0 +1,79 @@
+package com.portfolio.cms.Model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+// The EditorJS body of a post, kept out of the content table so metadata reads never touch it.
+// Shares the post's id and is removed by the database together with the post
+@Entity
+@Table(name = "content_body")
+public class ContentBody {
+
+    @Id
+    private Integer contentId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "content_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Content content;
+
+    // Store the JSON data as a string, deflated when content.data.compression.enabled is set
+    @Column(columnDefinition = "TEXT")
+    @Convert(converter = ContentDataConverter.class)
+    private String data;
+
+    // The body rendered to sanitized HTML when it was saved, and the renderer version that did it
+    @Column(columnDefinition = "TEXT")
+    @Convert(converter = ContentDataConverter.class)
+    private String html;
+
+    private Integer htmlVersion;
+
+    public ContentBody() {
+    }
+
+    public ContentBody(Content content, String data, String html, Integer htmlVersion) {
+        this.content = content;
+        this.data = data;
+        this.html = html;
+        this.htmlVersion = htmlVersion;
+    }
+
+    public Integer getContentId() {
+        return contentId;
+    }
+
+    public Content getContent() {
+        return content;
+    }
+
+    public void setContent(Content content) {
+        this.content = content;
+    }
+
+    public String getData() {
+        return data;
+    }
+
+    public void setData(String data) {
+        this.data = data;
+    }
+
+    public String getHtml() {
+        return html;
+    }
+
+    public void setHtml(String html) {
+        this.html = html;
+    }
+
+    public Integer getHtmlVersion() {
+        return htmlVersion;
+    }
+
+    public void setHtmlVersion(Integer htmlVersion) {
+        this.htmlVersion = htmlVersion;
+    }
+}
@@ -0,0 +1,125 @@
+package com.portfolio.cms.Model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Stores Content.data deflated against a preset dictionary of EditorJS boilerplate.
+ * Compressed values are Base64 text behind a marker, so they live in the same TEXT
+ * column as uncompressed ones and old rows keep reading as they are. Reading always
+ * understands both forms; content.data.compression.enabled only decides how new
+ * values are written.
+ */
+@Component
+@Converter
+public class ContentDataConverter implements AttributeConverter<String, String> {
+
+    // The digit names the dictionary, so it can be retrained without breaking existing rows
+    public static final String MARKER = "~z1:";
+
+    // Strings that show up in nearly every EditorJS document. Deflate reaches back into the
+    // dictionary like into earlier input, and nearer matches are cheaper, so the most common
+    // fragments go last
+    private static final byte[] DICTIONARY = (
+            "\"type\":\"embed\",\"data\":{\"service\":\"youtube\",\"source\":\"https://www.youtube.com/watch?v=" +
+            "\"type\":\"code\",\"data\":{\"code\":\"" +
+            "\"type\":\"quote\",\"data\":{\"text\":\"\",\"caption\":\"\",\"alignment\":\"left\"}}" +
+            "\"type\":\"delimiter\",\"data\":{}}" +
+            "\"type\":\"image\",\"data\":{\"file\":{\"url\":\"https://res.cloudinary.com/\"},\"caption\":\"\"," +
+            "\"withBorder\":false,\"stretched\":false,\"withBackground\":false}}" +
+            "\"type\":\"list\",\"data\":{\"style\":\"unordered\",\"items\":[\"" +
+            "\"type\":\"list\",\"data\":{\"style\":\"ordered\",\"items\":[\"" +
+            "\"type\":\"header\",\"data\":{\"text\":\"\",\"level\":2}}" +
+            "<a href=\"https://\"></a><i></i><b></b>&nbsp;" +
+            "{\"time\":17,\"blocks\":[],\"version\":\"2.30.\"}" +
+            "\"},{\"id\":\"\",\"type\":\"paragraph\",\"data\":{\"text\":\" the of and to in is that for with on as"
+    ).getBytes(StandardCharsets.UTF_8);
+
+    private final boolean enabled;
+    private final int minBytes;
+
+    public ContentDataConverter(@Value("${content.data.compression.enabled:false}") boolean enabled,
+                                @Value("${content.data.compression.min-bytes:512}") int minBytes) {
+        this.enabled = enabled;
+        this.minBytes = minBytes;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(String data) {
+        if (!enabled || data == null || data.startsWith(MARKER)) {
+            return data;
+        }
+        byte[] raw = data.getBytes(StandardCharsets.UTF_8);
+        if (raw.length < minBytes) {
+            return data;
+        }
+        String compressed = MARKER + Base64.getEncoder().encodeToString(deflate(raw));
+        // Base64 adds a third, so very short or already dense bodies can come out larger
+        return compressed.length() < data.length() ? compressed : data;
+    }
+
+    @Override
+    public String convertToEntityAttribute(String stored) {
+        if (stored == null || !stored.startsWith(MARKER)) {
+            return stored;
+        }
+        byte[] compressed = Base64.getDecoder().decode(stored.substring(MARKER.length()));
+        return new String(inflate(compressed), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setDictionary(DICTIONARY);
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 64);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0) {
+                    if (inflater.needsDictionary()) {
+                        inflater.setDictionary(DICTIONARY);
+                    } else if (inflater.needsInput()) {
+                        throw new IllegalStateException("Truncated compressed content data");
+                    }
+                }
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed content data", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
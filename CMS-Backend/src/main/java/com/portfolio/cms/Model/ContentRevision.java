@@ -0,0 +1,116 @@
+package com.portfolio.cms.Model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+// One saved version of a post. The body is either a full snapshot or a ContentDelta
+// against the revision before it; removed by the database together with the post
+@Entity
+@Table(name = "content_revision",
+        uniqueConstraints = @UniqueConstraint(name = "uk_content_revision", columnNames = {"content_id", "revision"}))
+public class ContentRevision {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "content_revision_id")
+    @SequenceGenerator(name = "content_revision_id", sequenceName = "content_revision_seq", allocationSize = 1000)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "content_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Content content;
+
+    @Column(name = "content_id", insertable = false, updatable = false)
+    private Integer contentId;
+
+    private int revision;
+
+    private LocalDateTime createdAt;
+
+    private Integer editorId;
+
+    private String title;
+    private String excerpt;
+
+    private boolean snapshot;
+
+    // Full body when snapshot is set, otherwise a delta against the previous revision
+    @Column(columnDefinition = "TEXT")
+    @Convert(converter = ContentDataConverter.class)
+    private String payload;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Content getContent() {
+        return content;
+    }
+
+    public void setContent(Content content) {
+        this.content = content;
+    }
+
+    public Integer getContentId() {
+        return contentId;
+    }
+
+    public int getRevision() {
+        return revision;
+    }
+
+    public void setRevision(int revision) {
+        this.revision = revision;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Integer getEditorId() {
+        return editorId;
+    }
+
+    public void setEditorId(Integer editorId) {
+        this.editorId = editorId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getExcerpt() {
+        return excerpt;
+    }
+
+    public void setExcerpt(String excerpt) {
+        this.excerpt = excerpt;
+    }
+
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    public void setSnapshot(boolean snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+}
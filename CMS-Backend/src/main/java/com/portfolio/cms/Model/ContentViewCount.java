@@ -0,0 +1,26 @@
+package com.portfolio.cms.Model;
+
+import jakarta.persistence.*;
+
+// Read count of a post, kept out of the content table so counting views never locks the post row
+// or moves its updated_at. There is deliberately no foreign key: counts are flushed in batches
+// and one for a post deleted in the meantime must not fail the whole batch
+@Entity
+@Table(name = "content_view_count")
+public class ContentViewCount {
+
+    @Id
+    @Column(name = "content_id")
+    private Integer contentId;
+
+    @Column(nullable = false)
+    private long views;
+
+    public Integer getContentId() {
+        return contentId;
+    }
+
+    public long getViews() {
+        return views;
+    }
+}
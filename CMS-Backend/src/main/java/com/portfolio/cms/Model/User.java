@@ -8,8 +8,12 @@ import java.util.List;
 @Entity
 public class User {
 
+    // Ids are handed out in blocks, so a node only touches user_seq once per block
+    public static final int ID_BLOCK_SIZE = 100;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_id")
+    @SequenceGenerator(name = "user_id", sequenceName = "user_seq", allocationSize = ID_BLOCK_SIZE)
     private Integer id;
 
     private String username;
@@ -19,6 +23,10 @@ public class User {
     private String profileImage;
     private boolean verified = false;
 
+    // Lets a profile edit made against an older read be refused rather than overwrite a newer one
+    @Version
+    private long version;
+
     // One-to-many relationship with Content
     @JsonManagedReference
     @OneToMany(mappedBy = "author", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -81,6 +89,10 @@ public class User {
         this.verified = verified;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
     public List<Content> getContents() {
         return contents;
     }
@@ -1,19 +1,24 @@
 package com.portfolio.cms.Service;
 
 import com.portfolio.cms.Dao.AdminDao;
+import com.portfolio.cms.Dao.ContentDao;
+import com.portfolio.cms.Dao.ContentViewCountDao;
 import com.portfolio.cms.Model.User;
+import com.portfolio.cms.config.ReadWriteRoutingDataSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Configuration
 @Service
+@Transactional
 public class AdminService {
 
     @Autowired
@@ -22,7 +27,41 @@ public class AdminService {
     @Autowired
     BCryptPasswordEncoder passwordEncoder;
 
+    @Autowired
+    ContentCache contentCache;
+
+    @Autowired
+    ContentSearchIndex contentSearchIndex;
+
+    @Autowired
+    CompressionStats compressionStats;
+
+    @Autowired
+    ContentStats contentStats;
+
+    @Autowired
+    ContentRenderMigration contentRenderMigration;
+
+    @Autowired
+    ContentSnapshot contentSnapshot;
+
+    @Autowired
+    UserStateCache userStateCache;
+
+    @Autowired
+    ContentDao contentDao;
+
+    @Autowired
+    ContentViewCountDao contentViewCountDao;
+
+    @Autowired
+    ContentViewCounter contentViewCounter;
+
+    @Autowired
+    ReadWriteRoutingDataSource routingDataSource;
+
 
+    @Transactional(readOnly = true)
     public ResponseEntity<Object> getAllUsers() {
         List<User> users = adminDao.findAll(); // Assuming findAll() returns a List of users
         if (users.isEmpty()) {
@@ -41,7 +80,20 @@ public class AdminService {
             }
 
             User user = userOptional.get();
+            // View counts have no foreign key, so the cascade leaves them behind
+            List<Integer> postIds = contentDao.findIdsByAuthorId(user.getId());
             adminDao.delete(user);
+            if (!postIds.isEmpty()) {
+                contentViewCountDao.deleteByContentIdIn(postIds);
+                contentViewCounter.discardAll(postIds);
+            }
+            // Their tokens stop working now rather than when the cached state expires
+            userStateCache.evict(email);
+            // The user's content is removed with them
+            contentSearchIndex.removeAuthor(user.getId());
+            contentCache.evictAll();
+            contentStats.requestReconcile();
+            contentSnapshot.requestRebuild();
             return new ResponseEntity<>("User deleted successfully", HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>("Error deleting user: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
@@ -92,9 +144,59 @@ public class AdminService {
             user.setVerified(verified != null && verified.equals("true"));
 
             adminDao.save(user);
+            // Takes a revoked admin role (or an old email) out of request authentication now
+            userStateCache.evict(email);
+            // Cached posts carry the author's username
+            contentCache.evictAll();
+            contentSnapshot.requestRebuild();
             return new ResponseEntity<>("User updated successfully", HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>("Error updating user: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    public ResponseEntity<Object> getContentCacheStats() {
+        return new ResponseEntity<>(contentCache.getStats(), HttpStatus.OK);
+    }
+
+    public ResponseEntity<Object> getCompressionStats() {
+        return new ResponseEntity<>(compressionStats.getStats(), HttpStatus.OK);
+    }
+
+    public ResponseEntity<Object> getUserStateCacheStats() {
+        return new ResponseEntity<>(userStateCache.getStats(), HttpStatus.OK);
+    }
+
+    public ResponseEntity<Object> getDataSourceStats() {
+        return new ResponseEntity<>(routingDataSource.getStats(), HttpStatus.OK);
+    }
+
+    // Renders in the background; progress shows up in the log
+    public ResponseEntity<Object> rerenderContent() {
+        if (!contentRenderMigration.start()) {
+            return new ResponseEntity<>("Content rendering is already running", HttpStatus.CONFLICT);
+        }
+        return new ResponseEntity<>("Content rendering started", HttpStatus.ACCEPTED);
+    }
+
+    // Rewrites every file in the background; progress shows up in the log
+    public ResponseEntity<Object> rebuildSnapshot() {
+        if (!contentSnapshot.isEnabled()) {
+            return new ResponseEntity<>("Snapshots are off, set content.snapshot.dir to enable them",
+                    HttpStatus.CONFLICT);
+        }
+        if (!contentSnapshot.startRebuild()) {
+            return new ResponseEntity<>("A snapshot rebuild is already waiting to run", HttpStatus.CONFLICT);
+        }
+        return new ResponseEntity<>("Snapshot rebuild started", HttpStatus.ACCEPTED);
+    }
+
+    public ResponseEntity<Object> rebuildSearchIndex() {
+        try {
+            int indexed = contentSearchIndex.rebuild();
+            return new ResponseEntity<>("Search index rebuilt with " + indexed + " posts", HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>("Error rebuilding search index: " + e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
 }
@@ -0,0 +1,21 @@
+package com.portfolio.cms.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Turns the data of one EditorJS block type into HTML. Any bean implementing this is
+ * picked up by ContentRenderer, so supporting a new block is a matter of adding one.
+ * Text coming from the block must go through ContentRenderer.inline or escape.
+ */
+public interface BlockRenderer {
+
+    // The EditorJS block type handled, e.g. "paragraph"
+    String type();
+
+    // Bump whenever the output changes; stored HTML from older versions is then re-rendered
+    default int version() {
+        return 1;
+    }
+
+    void render(JsonNode data, StringBuilder html);
+}
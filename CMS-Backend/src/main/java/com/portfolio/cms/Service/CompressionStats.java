@@ -0,0 +1,54 @@
+package com.portfolio.cms.Service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counters for gzip on /api/content/**, used to tune content.compression.min-bytes
+@Component
+public class CompressionStats {
+
+    private final LongAdder compressed = new LongAdder();
+    private final LongAdder precompressed = new LongAdder();
+    private final LongAdder belowThreshold = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LongAdder cpuNanos = new LongAdder();
+
+    // A response gzipped on the fly
+    public void recordCompressed(int originalBytes, int compressedBytes, long cpuTimeNanos) {
+        compressed.increment();
+        bytesIn.add(originalBytes);
+        bytesOut.add(compressedBytes);
+        cpuNanos.add(cpuTimeNanos);
+    }
+
+    // A response served from bytes compressed once when they were cached
+    public void recordPrecompressed(int originalBytes, int compressedBytes) {
+        precompressed.increment();
+        bytesIn.add(originalBytes);
+        bytesOut.add(compressedBytes);
+    }
+
+    public void recordBelowThreshold() {
+        belowThreshold.increment();
+    }
+
+    public Map<String, Object> getStats() {
+        long in = bytesIn.sum();
+        long out = bytesOut.sum();
+        long onTheFly = compressed.sum();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("compressed", onTheFly);
+        result.put("precompressed", precompressed.sum());
+        result.put("belowThreshold", belowThreshold.sum());
+        result.put("bytesIn", in);
+        result.put("bytesOut", out);
+        result.put("ratio", in == 0 ? 0.0 : (double) out / in);
+        result.put("cpuMillis", cpuNanos.sum() / 1_000_000);
+        result.put("avgCpuMicros", onTheFly == 0 ? 0 : cpuNanos.sum() / onTheFly / 1_000);
+        return result;
+    }
+}
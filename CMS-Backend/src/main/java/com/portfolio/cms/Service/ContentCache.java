@@ -0,0 +1,160 @@
+package com.portfolio.cms.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.portfolio.cms.config.HttpCompression;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Read-through cache of ready-to-serve content responses keyed by content id.
+ * Holds the serialized UTF-8 JSON, or the pre-rendered HTML for the HTML endpoint
+ * (plus a gzipped copy for larger posts), so hits are written straight to the
+ * response without running Jackson again.
+ * Caffeine's W-TinyLFU eviction keeps the hot posts resident, bounded by a
+ * byte budget rather than an entry count since bodies vary wildly in size.
+ */
+@Component
+public class ContentCache {
+
+    // Rough per-entry overhead for the arrays and the cache node
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private final Cache<Key, Entry> cache;
+    private final int gzipMinBytes;
+
+    public ContentCache(@Value("${content.cache.max-bytes:67108864}") long maxBytes,
+                        @Value("${content.cache.ttl-seconds:600}") long ttlSeconds,
+                        @Value("${content.cache.gzip-min-bytes:1024}") int gzipMinBytes) {
+        this.gzipMinBytes = gzipMinBytes;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, Entry entry) -> entry.sizeInBytes())
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public Entry get(Integer id) {
+        return cache.getIfPresent(new Key(id, false));
+    }
+
+    public Entry put(Integer id, byte[] json, long version, LocalDateTime lastModified) {
+        return put(new Key(id, false), json, version, lastModified);
+    }
+
+    public Entry getHtml(Integer id) {
+        return cache.getIfPresent(new Key(id, true));
+    }
+
+    public Entry putHtml(Integer id, byte[] html, long version, LocalDateTime lastModified) {
+        return put(new Key(id, true), html, version, lastModified);
+    }
+
+    // Compresses once here so every gzip-capable hit reuses the same bytes
+    private Entry put(Key key, byte[] body, long version, LocalDateTime lastModified) {
+        byte[] gzip = body.length >= gzipMinBytes ? HttpCompression.gzip(body) : null;
+        // Not worth a second copy if compression barely helps
+        if (gzip != null && gzip.length >= body.length * 9L / 10) {
+            gzip = null;
+        }
+        Entry entry = new Entry(body, gzip, version, lastModified);
+        cache.put(key, entry);
+        return entry;
+    }
+
+    // Evicts now and again once the surrounding transaction finishes, so a reader
+    // racing the commit cannot leave the old version cached
+    public void evict(Integer id) {
+        invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(id);
+                }
+            });
+        }
+    }
+
+    private void invalidate(Integer id) {
+        cache.invalidate(new Key(id, false));
+        cache.invalidate(new Key(id, true));
+    }
+
+    // Used when a change can touch many posts at once, e.g. an author being renamed or deleted
+    public void evictAll() {
+        cache.invalidateAll();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidateAll();
+                }
+            });
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("entries", cache.estimatedSize());
+        cache.policy().eviction().ifPresent(eviction ->
+                eviction.weightedSize().ifPresent(bytes -> result.put("bytes", bytes)));
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        result.put("evictedBytes", stats.evictionWeight());
+        return result;
+    }
+
+    private record Key(Integer id, boolean html) {
+    }
+
+    // A serialized post together with the version and timestamp its validators are built from
+    public static class Entry {
+        private final byte[] body;
+        private final byte[] gzip;
+        private final long version;
+        private final LocalDateTime lastModified;
+
+        public Entry(byte[] body, byte[] gzip, long version, LocalDateTime lastModified) {
+            this.body = body;
+            this.gzip = gzip;
+            this.version = version;
+            this.lastModified = lastModified;
+        }
+
+        // UTF-8 JSON, or HTML for entries from putHtml
+        public byte[] getBody() {
+            return body;
+        }
+
+        // Null when the post is too small or too incompressible to bother
+        public byte[] getGzip() {
+            return gzip;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public LocalDateTime getLastModified() {
+            return lastModified;
+        }
+
+        int sizeInBytes() {
+            long bytes = ENTRY_OVERHEAD_BYTES + body.length + (gzip == null ? 0 : gzip.length);
+            return (int) Math.min(Integer.MAX_VALUE, bytes);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.portfolio.cms.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for content listings. Encodes the (createdAt, id) of the
+ * last row of a page so the next page can seek straight to it instead of using OFFSET.
+ */
+public class ContentCursor {
+
+    private final LocalDateTime createdAt;
+    private final Integer id;
+
+    public ContentCursor(LocalDateTime createdAt, Integer id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Throws IllegalArgumentException if the cursor was not produced by encode()
+    public static ContentCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            LocalDateTime createdAt = LocalDateTime.parse(raw.substring(0, separator));
+            Integer id = Integer.valueOf(raw.substring(separator + 1));
+            return new ContentCursor(createdAt, id);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
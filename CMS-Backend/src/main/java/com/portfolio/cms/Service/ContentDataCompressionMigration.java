@@ -0,0 +1,72 @@
+package com.portfolio.cms.Service;
+
+import com.portfolio.cms.Model.ContentDataConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compresses the bodies that were stored before content.data.compression.enabled
+ * was switched on. Walks the table in id order in the background, a batch at a
+ * time, and skips any row that is edited while it is being rewritten.
+ */
+@Component
+public class ContentDataCompressionMigration {
+
+    private static final int BATCH_SIZE = 200;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ContentDataConverter contentDataConverter;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!contentDataConverter.isEnabled()) {
+            return;
+        }
+        Thread thread = new Thread(this::compressExistingRows, "content-data-compression");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void compressExistingRows() {
+        try {
+            int lastId = 0;
+            List<Map<String, Object>> rows;
+            do {
+                rows = jdbcTemplate.queryForList(
+                        "SELECT b.content_id AS id, b.data AS data, c.version AS post_version " +
+                                "FROM content_body b JOIN content c ON c.id = b.content_id " +
+                                "WHERE b.content_id > ? AND b.data IS NOT NULL AND b.data NOT LIKE ? " +
+                                "ORDER BY b.content_id LIMIT ?",
+                        lastId, ContentDataConverter.MARKER + "%", BATCH_SIZE);
+
+                List<Object[]> updates = new ArrayList<>();
+                for (Map<String, Object> row : rows) {
+                    lastId = ((Number) row.get("id")).intValue();
+                    String data = (String) row.get("data");
+                    String stored = contentDataConverter.convertToDatabaseColumn(data);
+                    if (!stored.equals(data)) {
+                        updates.add(new Object[]{stored, lastId, row.get("post_version")});
+                    }
+                }
+                if (!updates.isEmpty()) {
+                    // The post's version guards against overwriting an edit made since the row was read
+                    jdbcTemplate.batchUpdate(
+                            "UPDATE content_body b SET data = ? WHERE b.content_id = ? AND EXISTS " +
+                                    "(SELECT 1 FROM content c WHERE c.id = b.content_id AND c.version = ?)", updates);
+                }
+            } while (rows.size() == BATCH_SIZE);
+        } catch (Exception e) {
+            System.err.println("Error compressing existing content data: " + e.getMessage());
+        }
+    }
+}
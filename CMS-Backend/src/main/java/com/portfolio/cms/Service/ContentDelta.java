@@ -0,0 +1,41 @@
+package com.portfolio.cms.Service;
+
+/**
+ * Compact edit between two versions of a body: the length of the shared prefix and
+ * suffix plus whatever replaced the middle. A typo fix in a 50 KB post becomes a few
+ * bytes. Encoded as "prefix,suffix:replacement".
+ */
+public class ContentDelta {
+
+    private ContentDelta() {
+    }
+
+    public static String encode(String from, String to) {
+        int max = Math.min(from.length(), to.length());
+        int prefix = 0;
+        while (prefix < max && from.charAt(prefix) == to.charAt(prefix)) {
+            prefix++;
+        }
+        // Never cut a surrogate pair in half; a lone surrogate would not survive UTF-8 storage
+        if (prefix > 0 && Character.isHighSurrogate(from.charAt(prefix - 1))) {
+            prefix--;
+        }
+        int suffix = 0;
+        while (suffix < max - prefix
+                && from.charAt(from.length() - 1 - suffix) == to.charAt(to.length() - 1 - suffix)) {
+            suffix++;
+        }
+        if (suffix > 0 && Character.isLowSurrogate(to.charAt(to.length() - suffix))) {
+            suffix--;
+        }
+        return prefix + "," + suffix + ":" + to.substring(prefix, to.length() - suffix);
+    }
+
+    public static String apply(String from, String delta) {
+        int comma = delta.indexOf(',');
+        int colon = delta.indexOf(':', comma);
+        int prefix = Integer.parseInt(delta.substring(0, comma));
+        int suffix = Integer.parseInt(delta.substring(comma + 1, colon));
+        return from.substring(0, prefix) + delta.substring(colon + 1) + from.substring(from.length() - suffix);
+    }
+}
@@ -0,0 +1,87 @@
+package com.portfolio.cms.Service;
+
+import com.portfolio.cms.Dao.ContentSummaryView;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+// Validators for conditional requests on content endpoints
+public class ContentETag {
+
+    private ContentETag() {
+    }
+
+    // Every edit bumps the post's version, so the tag names one exact state of it.
+    // The gzipped body is a different representation, so it gets its own tag
+    public static String forContent(Integer id, long version, boolean gzip) {
+        return "\"" + id + "-v" + version + (gzip ? "-gz" : "") + "\"";
+    }
+
+    // The rendered HTML changes with the post and with the renderers that produced it
+    public static String forHtml(Integer id, long version, int rendererVersion, boolean gzip) {
+        return "\"" + id + "-v" + version + "-html" + Integer.toHexString(rendererVersion) +
+                (gzip ? "-gz" : "") + "\"";
+    }
+
+    // If-Match on an edit: true when a listed tag names the post's current version, in either encoding
+    public static boolean matches(String ifMatch, Integer id, long version) {
+        return matchesAny(ifMatch, forContent(id, version, false), forContent(id, version, true));
+    }
+
+    // True when the If-Match header lists one of the current tags, or is "*". Tags weakened by
+    // the compression filter still count: every tag here pins a version, whatever the bytes
+    public static boolean matchesAny(String ifMatch, String... current) {
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || Arrays.asList(current).contains(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // A list is identified by what was asked for plus the (id, updatedAt) of every row in it
+    public static String forSummaries(String scope, List<ContentSummaryView> rows, String nextCursor) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(scope.getBytes(StandardCharsets.UTF_8));
+            for (ContentSummaryView row : rows) {
+                digest.update((";" + row.getId() + ":" + toEpochMillis(lastModified(row)))
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+            if (nextCursor != null) {
+                digest.update(nextCursor.getBytes(StandardCharsets.UTF_8));
+            }
+            byte[] hash = digest.digest();
+            return "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Newest change among the rows, or -1 for an empty list
+    public static long lastModifiedOf(List<ContentSummaryView> rows) {
+        long latest = -1;
+        for (ContentSummaryView row : rows) {
+            latest = Math.max(latest, toEpochMillis(lastModified(row)));
+        }
+        return latest;
+    }
+
+    public static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime lastModified(ContentSummaryView row) {
+        return row.getUpdatedAt() != null ? row.getUpdatedAt() : row.getCreatedAt();
+    }
+}
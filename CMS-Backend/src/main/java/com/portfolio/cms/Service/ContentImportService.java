@@ -0,0 +1,257 @@
+package com.portfolio.cms.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.cms.DTO.ContentImportResultDTO;
+import com.portfolio.cms.Dao.ContentBodyDao;
+import com.portfolio.cms.Dao.ContentDao;
+import com.portfolio.cms.Dao.UserDao;
+import com.portfolio.cms.Model.Content;
+import com.portfolio.cms.Model.ContentBody;
+import com.portfolio.cms.Model.User;
+import com.portfolio.cms.config.JwtUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bulk import of posts from an NDJSON stream. Rows are validated one by one and
+ * written in batches, each batch in its own transaction. A batch the database
+ * refuses is retried a row at a time, so only the offending lines are reported
+ * and the rest of the import goes through.
+ */
+@Service
+public class ContentImportService {
+
+    // Keep the response small even when a whole file is rejected
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    // Hibernate's default VARCHAR length, which the title, excerpt and image columns use
+    private static final int MAX_COLUMN_LENGTH = 255;
+
+    @Autowired
+    private ContentDao contentDao;
+
+    @Autowired
+    private ContentBodyDao contentBodyDao;
+
+    @Autowired
+    private UserDao userDao;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ContentSearchIndex contentSearchIndex;
+
+    @Autowired
+    private ContentStats contentStats;
+
+    @Autowired
+    private ContentRenderer contentRenderer;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ContentSnapshot contentSnapshot;
+
+    @Value("${content.import.batch-size:500}")
+    private int batchSize;
+
+    public ResponseEntity<Object> importContent(HttpServletRequest request) {
+        try {
+            // Authentication validation, once for the whole import
+            String authHeader = request.getHeader("Authorization");
+            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+                return new ResponseEntity<>("Authorization header missing or invalid",
+                        HttpStatus.UNAUTHORIZED);
+            }
+
+            String token = authHeader.substring(7);
+            if (!jwtUtil.validateToken(token)) {
+                return new ResponseEntity<>("Invalid token", HttpStatus.UNAUTHORIZED);
+            }
+
+            // Extract authenticated user's email from token
+            String userEmail = jwtUtil.extractUsername(token);
+
+            // Find the user in the database
+            Optional<User> userOptional = userDao.findByEmail(userEmail);
+            if (userOptional.isEmpty()) {
+                return new ResponseEntity<>("User not found", HttpStatus.NOT_FOUND);
+            }
+
+            User importer = userOptional.get();
+
+            // Admins may import on behalf of other authors; each one is looked up once
+            Map<String, Optional<User>> authors = new HashMap<>();
+            authors.put(importer.getEmail(), userOptional);
+
+            ContentImportResultDTO result = new ContentImportResultDTO();
+            List<Content> batch = new ArrayList<>(batchSize);
+            List<String> batchData = new ArrayList<>(batchSize);
+            List<Integer> batchLines = new ArrayList<>(batchSize);
+
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                int lineNumber = 0;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        JsonNode row = objectMapper.readTree(line);
+                        batch.add(toContent(row, importer, authors));
+                        batchData.add(text(row, "data"));
+                        batchLines.add(lineNumber);
+                    } catch (Exception e) {
+                        addError(result, lineNumber, e.getMessage());
+                    }
+                    if (batch.size() == batchSize) {
+                        saveBatch(batch, batchData, batchLines, result);
+                    }
+                }
+            }
+            saveBatch(batch, batchData, batchLines, result);
+
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return new ResponseEntity<>("Failed to import content: " + e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private Content toContent(JsonNode row, User importer, Map<String, Optional<User>> authors) {
+        if (!row.isObject()) {
+            throw new IllegalArgumentException("Each line must be a JSON object");
+        }
+        String title = text(row, "title");
+        if (title == null || title.isEmpty()) {
+            throw new IllegalArgumentException("Title is required");
+        }
+        String excerpt = text(row, "excerpt");
+        String image = text(row, "image");
+        checkLength("title", title);
+        checkLength("excerpt", excerpt);
+        checkLength("image", image);
+
+        User author = importer;
+        String authorEmail = text(row, "authorEmail");
+        if (authorEmail != null && !authorEmail.equals(importer.getEmail())) {
+            if (!importer.isAdmin()) {
+                throw new IllegalArgumentException("Only admins can import content for other authors");
+            }
+            author = authors.computeIfAbsent(authorEmail, userDao::findByEmail)
+                    .orElseThrow(() -> new IllegalArgumentException("Author not found: " + authorEmail));
+        }
+
+        Content content = new Content();
+        content.setTitle(title);
+        content.setExcerpt(excerpt);
+        content.setImage(image);
+        content.setAuthor(author);
+
+        // Keep the original dates when migrating from another platform
+        String createdAt = text(row, "createdAt");
+        if (createdAt != null) {
+            content.setCreatedAt(LocalDateTime.parse(createdAt));
+            content.setUpdatedAt(content.getCreatedAt());
+        }
+        String updatedAt = text(row, "updatedAt");
+        if (updatedAt != null) {
+            content.setUpdatedAt(LocalDateTime.parse(updatedAt));
+        }
+        return content;
+    }
+
+    private static void checkLength(String field, String value) {
+        if (value != null && value.length() > MAX_COLUMN_LENGTH) {
+            throw new IllegalArgumentException(field + " is longer than " + MAX_COLUMN_LENGTH + " characters");
+        }
+    }
+
+    // "data" is EditorJS JSON; accept it either as a string or inline as an object
+    private String text(JsonNode row, String field) {
+        JsonNode value = row.get(field);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        return value.isValueNode() ? value.asText() : value.toString();
+    }
+
+    // One transaction per batch; Hibernate groups the inserts into JDBC batches. A batch the
+    // database refuses is retried one row per transaction so only the offending lines fail
+    private void saveBatch(List<Content> batch, List<String> batchData, List<Integer> batchLines,
+                           ContentImportResultDTO result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            save(batch, batchData);
+            result.setImported(result.getImported() + batch.size());
+        } catch (Exception e) {
+            for (int i = 0; i < batch.size(); i++) {
+                Content content = batch.get(i);
+                // The rolled-back attempt assigned an id; without one the row is inserted afresh
+                content.setId(null);
+                content.setVersion(0);
+                try {
+                    save(Collections.singletonList(content), Collections.singletonList(batchData.get(i)));
+                    result.setImported(result.getImported() + 1);
+                } catch (Exception rowError) {
+                    addError(result, batchLines.get(i), NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                }
+            }
+        }
+        batch.clear();
+        batchData.clear();
+        batchLines.clear();
+    }
+
+    private void save(List<Content> contents, List<String> data) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<Content> saved = contentDao.saveAll(contents);
+            List<ContentBody> bodies = new ArrayList<>(saved.size());
+            for (int i = 0; i < saved.size(); i++) {
+                bodies.add(new ContentBody(saved.get(i), data.get(i), contentRenderer.render(data.get(i)),
+                        contentRenderer.getVersion()));
+            }
+            contentBodyDao.saveAll(bodies);
+            contentSearchIndex.indexAll(saved, data);
+            for (Content content : saved) {
+                contentStats.recordCreated(content.getAuthor().getId(), content.getCreatedAt());
+                contentSnapshot.touch(content.getId(), content.getAuthor().getId());
+            }
+        });
+    }
+
+    private static void addError(ContentImportResultDTO result, int line, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new ContentImportResultDTO.RowError(line, message));
+        }
+    }
+}
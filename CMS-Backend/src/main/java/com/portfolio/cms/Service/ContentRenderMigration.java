@@ -0,0 +1,117 @@
+package com.portfolio.cms.Service;
+
+import com.portfolio.cms.Model.ContentDataConverter;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Renders the HTML of every body that has none yet, or whose HTML came from an older
+ * set of block renderers. Runs in the background on startup and when an admin asks
+ * for it. Rows are read a batch at a time in id order and each batch is rendered on
+ * content.render.threads threads. Rows edited meanwhile are skipped; the edit
+ * already stored fresh HTML.
+ */
+@Component
+public class ContentRenderMigration {
+
+    private static final int BATCH_SIZE = 200;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ContentDataConverter contentDataConverter;
+
+    @Autowired
+    private ContentRenderer contentRenderer;
+
+    @Autowired
+    private ContentCache contentCache;
+
+    private final ForkJoinPool pool;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ContentRenderMigration(@Value("${content.render.threads:0}") int threads) {
+        this.pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        start();
+    }
+
+    // False if a run is already in progress
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                renderStaleRows();
+            } finally {
+                running.set(false);
+            }
+        }, "content-render");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private void renderStaleRows() {
+        try {
+            int version = contentRenderer.getVersion();
+            int lastId = 0;
+            List<Map<String, Object>> rows;
+            do {
+                rows = jdbcTemplate.queryForList(
+                        "SELECT b.content_id AS id, b.data AS data, c.version AS post_version " +
+                                "FROM content_body b JOIN content c ON c.id = b.content_id " +
+                                "WHERE b.content_id > ? AND (b.html_version IS NULL OR b.html_version <> ?) " +
+                                "ORDER BY b.content_id LIMIT ?",
+                        lastId, version, BATCH_SIZE);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                lastId = ((Number) rows.get(rows.size() - 1).get("id")).intValue();
+
+                List<Map<String, Object>> batch = rows;
+                List<Object[]> updates = pool.submit(() -> batch.parallelStream()
+                        .map(row -> {
+                            String data = contentDataConverter.convertToEntityAttribute((String) row.get("data"));
+                            String html = contentDataConverter.convertToDatabaseColumn(contentRenderer.render(data));
+                            return new Object[]{html, version, row.get("id"), row.get("post_version")};
+                        })
+                        .toList()).get();
+
+                // The post's version guards against overwriting an edit made since the row was read
+                int[] counts = jdbcTemplate.batchUpdate(
+                        "UPDATE content_body b JOIN content c ON c.id = b.content_id " +
+                                "SET b.html = ?, b.html_version = ? " +
+                                "WHERE b.content_id = ? AND c.version = ?", new ArrayList<>(updates));
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] != 0) {
+                        contentCache.evict(((Number) updates.get(i)[2]).intValue());
+                    }
+                }
+            } while (rows.size() == BATCH_SIZE);
+        } catch (Exception e) {
+            System.err.println("Error rendering content: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.portfolio.cms.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.safety.Safelist;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Renders an EditorJS document to sanitized HTML, block by block, with whichever
+ * BlockRenderer handles each block type. Unknown block types are left out. The
+ * version identifies the set of renderers, so HTML stored by an older set can be
+ * found and rendered again (see ContentRenderMigration).
+ */
+@Component
+public class ContentRenderer {
+
+    // Bump when something outside the block renderers changes the output
+    private static final int PIPELINE_VERSION = 1;
+
+    // The inline formatting EditorJS produces inside text fields
+    private static final Safelist INLINE = new Safelist()
+            .addTags("b", "strong", "i", "em", "u", "s", "mark", "code", "br", "sub", "sup", "a")
+            .addAttributes("a", "href")
+            .addProtocols("a", "href", "http", "https", "mailto")
+            .addEnforcedAttribute("a", "rel", "nofollow noopener");
+
+    private static final Document.OutputSettings OUTPUT = new Document.OutputSettings().prettyPrint(false);
+
+    private final Map<String, BlockRenderer> renderers = new HashMap<>();
+    private final int version;
+    private final ObjectMapper objectMapper;
+
+    public ContentRenderer(List<BlockRenderer> renderers, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        CRC32 signature = new CRC32();
+        signature.update(("pipeline:" + PIPELINE_VERSION).getBytes(StandardCharsets.UTF_8));
+        renderers.stream()
+                .sorted(Comparator.comparing(BlockRenderer::type))
+                .forEach(renderer -> {
+                    if (this.renderers.putIfAbsent(renderer.type(), renderer) != null) {
+                        throw new IllegalStateException("More than one renderer for block type " + renderer.type());
+                    }
+                    signature.update((";" + renderer.type() + ":" + renderer.version())
+                            .getBytes(StandardCharsets.UTF_8));
+                });
+        this.version = (int) signature.getValue();
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    // Null for a post without a body
+    public String render(String data) {
+        if (data == null) {
+            return null;
+        }
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(data);
+        } catch (Exception e) {
+            // Not EditorJS JSON, show it as plain text
+            return "<p>" + escape(data) + "</p>";
+        }
+        StringBuilder html = new StringBuilder(data.length());
+        JsonNode blocks = root.path("blocks");
+        for (JsonNode block : blocks) {
+            BlockRenderer renderer = renderers.get(block.path("type").asText());
+            if (renderer == null) {
+                continue;
+            }
+            StringBuilder rendered = new StringBuilder();
+            try {
+                renderer.render(block.path("data"), rendered);
+                html.append(rendered).append('\n');
+            } catch (RuntimeException e) {
+                // A malformed block is left out rather than failing the whole post
+            }
+        }
+        return html.toString();
+    }
+
+    // Text with EditorJS inline markup, reduced to the tags in INLINE
+    public static String inline(String html) {
+        if (html == null || html.isEmpty()) {
+            return "";
+        }
+        return Jsoup.clean(html, "", INLINE, OUTPUT);
+    }
+
+    // Plain text, or a value for a double-quoted attribute
+    public static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder escaped = new StringBuilder(text.length() + 16);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> escaped.append("&amp;");
+                case '<' -> escaped.append("&lt;");
+                case '>' -> escaped.append("&gt;");
+                case '"' -> escaped.append("&quot;");
+                case '\'' -> escaped.append("&#39;");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    // Only http(s) links make it into src and href attributes
+    public static String url(String url) {
+        if (url == null) {
+            return null;
+        }
+        String trimmed = url.trim();
+        String lower = trimmed.toLowerCase();
+        return lower.startsWith("https://") || lower.startsWith("http://") ? escape(trimmed) : null;
+    }
+
+    // Inline markup stripped to its text, e.g. for alt attributes
+    public static String plain(String html) {
+        return html == null ? "" : escape(Jsoup.parse(html).text());
+    }
+}
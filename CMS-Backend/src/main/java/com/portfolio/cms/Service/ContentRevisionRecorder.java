@@ -0,0 +1,149 @@
+package com.portfolio.cms.Service;
+
+import com.portfolio.cms.Dao.ContentDao;
+import com.portfolio.cms.Dao.ContentRevisionDao;
+import com.portfolio.cms.Model.ContentRevision;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes content revisions off the request thread. Each revision stores a delta
+ * against the one before it, with a full snapshot every content.revisions.snapshot-every
+ * revisions so rebuilding any version replays a bounded number of deltas.
+ * A single worker keeps the revisions of a post in order.
+ */
+@Component
+public class ContentRevisionRecorder {
+
+    @Autowired
+    private ContentRevisionDao contentRevisionDao;
+
+    @Autowired
+    private ContentDao contentDao;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${content.revisions.snapshot-every:10}")
+    private int snapshotEvery;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "content-revisions");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Revisions queued but not yet written, per post
+    private final Map<Integer, Integer> pending = new ConcurrentHashMap<>();
+
+    // Queues the given state of a post as its next revision once the surrounding transaction commits
+    public void record(Integer contentId, Integer editorId, String title, String excerpt, String data,
+                       LocalDateTime createdAt) {
+        Runnable enqueue = () -> {
+            pending.merge(contentId, 1, Integer::sum);
+            worker.execute(() -> {
+                try {
+                    write(contentId, editorId, title, excerpt, data, createdAt);
+                } catch (Exception e) {
+                    System.err.println("Error recording revision of content " + contentId + ": " + e.getMessage());
+                } finally {
+                    pending.computeIfPresent(contentId, (id, count) -> count == 1 ? null : count - 1);
+                }
+            });
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue.run();
+                }
+            });
+        } else {
+            enqueue.run();
+        }
+    }
+
+    // False for posts written before revisions were kept, which need a baseline first
+    public boolean hasHistory(Integer contentId) {
+        return pending.containsKey(contentId) || contentRevisionDao.existsByContentId(contentId);
+    }
+
+    // The body as it was at the given revision, or empty if there is no such revision or it had no body
+    public Optional<String> reconstruct(Integer contentId, int revision) {
+        Optional<ContentRevision> snapshot = contentRevisionDao
+                .findFirstByContentIdAndSnapshotTrueAndRevisionLessThanEqualOrderByRevisionDesc(contentId, revision);
+        if (snapshot.isEmpty()) {
+            return Optional.empty();
+        }
+        String data = snapshot.get().getPayload();
+        List<ContentRevision> deltas = contentRevisionDao.findByContentIdAndRevisionBetweenOrderByRevisionAsc(
+                contentId, snapshot.get().getRevision() + 1, revision);
+        for (ContentRevision delta : deltas) {
+            data = ContentDelta.apply(data, delta.getPayload());
+        }
+        return Optional.ofNullable(data);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Let queued revisions finish so edits made just before shutdown are not lost
+        worker.shutdown();
+        worker.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private void write(Integer contentId, Integer editorId, String title, String excerpt, String data,
+                       LocalDateTime createdAt) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            ContentRevision revision = new ContentRevision();
+            revision.setContent(contentDao.getReferenceById(contentId));
+            revision.setEditorId(editorId);
+            revision.setTitle(title);
+            revision.setExcerpt(excerpt);
+            revision.setCreatedAt(createdAt);
+
+            Optional<ContentRevision> latest = contentRevisionDao.findFirstByContentIdOrderByRevisionDesc(contentId);
+            if (latest.isEmpty()) {
+                revision.setRevision(1);
+                revision.setSnapshot(true);
+                revision.setPayload(data);
+            } else {
+                int previous = latest.get().getRevision();
+                revision.setRevision(previous + 1);
+
+                int sinceSnapshot = previous - contentRevisionDao
+                        .findFirstByContentIdAndSnapshotTrueAndRevisionLessThanEqualOrderByRevisionDesc(contentId, previous)
+                        .map(ContentRevision::getRevision)
+                        .orElse(0);
+                String previousData = sinceSnapshot + 1 < snapshotEvery
+                        ? reconstruct(contentId, previous).orElse(null)
+                        : null;
+                String delta = previousData == null || data == null ? null : ContentDelta.encode(previousData, data);
+
+                // A snapshot when the chain is long enough, or when a delta would not be smaller
+                if (delta == null || delta.length() >= data.length()) {
+                    revision.setSnapshot(true);
+                    revision.setPayload(data);
+                } else {
+                    revision.setSnapshot(false);
+                    revision.setPayload(delta);
+                }
+            }
+            contentRevisionDao.save(revision);
+        });
+    }
+}
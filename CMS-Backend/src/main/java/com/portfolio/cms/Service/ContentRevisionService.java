@@ -0,0 +1,170 @@
+package com.portfolio.cms.Service;
+
+import com.portfolio.cms.DTO.ContentRevisionDTO;
+import com.portfolio.cms.Dao.ContentDao;
+import com.portfolio.cms.Dao.ContentRevisionDao;
+import com.portfolio.cms.Dao.ContentRevisionSummaryView;
+import com.portfolio.cms.Dao.UserDao;
+import com.portfolio.cms.Model.Content;
+import com.portfolio.cms.Model.ContentRevision;
+import com.portfolio.cms.Model.User;
+import com.portfolio.cms.config.JwtUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+@Service
+public class ContentRevisionService {
+
+    @Autowired
+    private ContentDao contentDao;
+
+    @Autowired
+    private ContentRevisionDao contentRevisionDao;
+
+    @Autowired
+    private ContentRevisionRecorder contentRevisionRecorder;
+
+    @Autowired
+    private ContentService contentService;
+
+    @Autowired
+    private UserDao userDao;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMMM d, yyyy h:mm a");
+
+    public ResponseEntity<Object> getRevisions(Integer id, HttpServletRequest request) {
+        try {
+            ResponseEntity<Object> denied = checkEditAccess(id, request);
+            if (denied != null) {
+                return denied;
+            }
+
+            List<ContentRevisionDTO> revisions = contentRevisionDao.findByContentIdOrderByRevisionDesc(id).stream()
+                    .map(this::convertToDTO)
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(revisions);
+        } catch (Exception e) {
+            return new ResponseEntity<>("Failed to retrieve revisions: " + e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    public ResponseEntity<Object> getRevision(Integer id, int revision, HttpServletRequest request) {
+        try {
+            ResponseEntity<Object> denied = checkEditAccess(id, request);
+            if (denied != null) {
+                return denied;
+            }
+
+            Optional<ContentRevision> found = contentRevisionDao.findByContentIdAndRevision(id, revision);
+            if (found.isEmpty()) {
+                return new ResponseEntity<>("Revision " + revision + " not found for content with id: " + id,
+                        HttpStatus.NOT_FOUND);
+            }
+
+            ContentRevisionDTO dto = convertToDTO(found.get());
+            dto.setData(contentRevisionRecorder.reconstruct(id, revision).orElse(null));
+            return ResponseEntity.ok(dto);
+        } catch (Exception e) {
+            return new ResponseEntity<>("Failed to retrieve revision: " + e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Saves the old version as a new edit, so the restore itself shows up in the history.
+    // The image is left alone since replaced images are deleted from Cloudinary
+    public ResponseEntity<Object> restoreRevision(Integer id, int revision, HttpServletRequest request) {
+        try {
+            ResponseEntity<Object> denied = checkEditAccess(id, request);
+            if (denied != null) {
+                return denied;
+            }
+
+            Optional<ContentRevision> found = contentRevisionDao.findByContentIdAndRevision(id, revision);
+            if (found.isEmpty()) {
+                return new ResponseEntity<>("Revision " + revision + " not found for content with id: " + id,
+                        HttpStatus.NOT_FOUND);
+            }
+
+            // A revision saved without a body has none to reconstruct. It is restored as an empty
+            // body: updateContent reads a null one as "unchanged", which would keep the current body
+            String data = contentRevisionRecorder.reconstruct(id, revision).orElse("");
+            String excerpt = found.get().getExcerpt() == null ? "" : found.get().getExcerpt();
+            return contentService.updateContent(id, found.get().getTitle(), excerpt, data, null, request);
+        } catch (Exception e) {
+            return new ResponseEntity<>("Failed to restore revision: " + e.getMessage(),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Same rules as updating the post: only its author or an admin. Null when access is allowed
+    private ResponseEntity<Object> checkEditAccess(Integer id, HttpServletRequest request) {
+        // Authentication validation
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return new ResponseEntity<>("Authorization header missing or invalid",
+                    HttpStatus.UNAUTHORIZED);
+        }
+
+        String token = authHeader.substring(7);
+        if (!jwtUtil.validateToken(token)) {
+            return new ResponseEntity<>("Invalid token", HttpStatus.UNAUTHORIZED);
+        }
+
+        // Extract authenticated user's email from token
+        String userEmail = jwtUtil.extractUsername(token);
+
+        // Find the user in the database
+        Optional<User> userOptional = userDao.findByEmail(userEmail);
+        if (userOptional.isEmpty()) {
+            return new ResponseEntity<>("User not found", HttpStatus.NOT_FOUND);
+        }
+
+        User authenticatedUser = userOptional.get();
+
+        Optional<Content> content = contentDao.findById(id);
+        if (content.isEmpty()) {
+            return new ResponseEntity<>("Content not found with id: " + id,
+                    HttpStatus.NOT_FOUND);
+        }
+
+        if (!content.get().getAuthor().getId().equals(authenticatedUser.getId()) && !authenticatedUser.isAdmin()) {
+            return new ResponseEntity<>("You are not authorized to view the history of this content",
+                    HttpStatus.FORBIDDEN);
+        }
+        return null;
+    }
+
+    private ContentRevisionDTO convertToDTO(ContentRevisionSummaryView revision) {
+        return convertToDTO(revision.getRevision(), revision.getCreatedAt(), revision.getEditorId(),
+                revision.getTitle(), revision.getExcerpt());
+    }
+
+    private ContentRevisionDTO convertToDTO(ContentRevision revision) {
+        return convertToDTO(revision.getRevision(), revision.getCreatedAt(), revision.getEditorId(),
+                revision.getTitle(), revision.getExcerpt());
+    }
+
+    private ContentRevisionDTO convertToDTO(int revision, LocalDateTime createdAt, Integer editorId,
+                                            String title, String excerpt) {
+        ContentRevisionDTO dto = new ContentRevisionDTO();
+        dto.setRevision(revision);
+        dto.setDate(createdAt == null ? null : createdAt.format(formatter));
+        dto.setEditorId(editorId);
+        dto.setTitle(title);
+        dto.setExcerpt(excerpt);
+        return dto;
+    }
+}
@@ -0,0 +1,384 @@
+package com.portfolio.cms.Service;
+
+import com.portfolio.cms.Dao.ContentDao;
+import com.portfolio.cms.Dao.ContentExportView;
+import com.portfolio.cms.Model.Content;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Lucene full-text index over content titles, excerpts and the text of the
+ * EditorJS body. Kept in step with the database by ContentService and served
+ * through near-real-time searchers: a write is searchable within
+ * content.search.refresh-ms of its commit and reaches disk with the next index
+ * commit, every content.search.commit-ms and on shutdown.
+ * <p>
+ * A rebuild writes a fresh index beside the live one and swaps it in under the
+ * same lock as edits and refreshes, so searches never see it half built and a
+ * crash part way through leaves the last committed index on disk.
+ */
+@Component
+public class ContentSearchIndex {
+
+    private static final String ID = "id";
+    private static final String AUTHOR = "author";
+    private static final String TITLE = "title";
+    private static final String EXCERPT = "excerpt";
+    private static final String BODY = "body";
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    // Stored with each index commit; an index written before the author field existed is rebuilt on start
+    private static final String FORMAT_KEY = "format";
+    private static final String FORMAT = "2";
+
+    @Autowired
+    private ContentDao contentDao;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Path indexPath;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    // Guards the writer against a rebuild swapping the index out from under an edit or a refresh
+    private final Object lock = new Object();
+    // Edits that land while a rebuild is reading the database, replayed over the rebuilt index
+    private List<IndexChange> changesDuringRebuild;
+
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "content-search");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ContentSearchIndex(@Value("${content.search.index-dir:search-index}") String indexDir,
+                              @Value("${content.search.refresh-ms:500}") long refreshMillis,
+                              @Value("${content.search.commit-ms:30000}") long commitMillis) throws IOException {
+        this.indexPath = Paths.get(indexDir).toAbsolutePath();
+        IndexWriterConfig config = new IndexWriterConfig(analyzer);
+        config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        this.writer = new IndexWriter(FSDirectory.open(indexPath), config);
+        // The writer carries the last commit's data forward, so only a new index needs it set here
+        if (writer.getDocStats().maxDoc == 0) {
+            writer.setLiveCommitData(formatData());
+        }
+        this.searcherManager = new SearcherManager(writer, null);
+        worker.scheduleWithFixedDelay(this::refresh, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+        worker.scheduleWithFixedDelay(this::commit, commitMillis, commitMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Build the index on first start against an existing database, or when it predates FORMAT
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            boolean empty = writer.getDocStats().numDocs == 0;
+            if ((empty || !FORMAT.equals(committedFormat())) && contentDao.count() > 0) {
+                rebuild();
+            }
+        } catch (Exception e) {
+            System.err.println("Error building content search index: " + e.getMessage());
+        }
+    }
+
+    // Adds or replaces the post once the surrounding transaction commits
+    public void index(Content content, String data) {
+        Document document = toDocument(content.getId(), content.getAuthor().getId(),
+                content.getTitle(), content.getExcerpt(), data);
+        Term id = new Term(ID, content.getId().toString());
+        afterCommit(() -> writer.updateDocument(id, document));
+    }
+
+    // Same as index() for many posts, with a single index commit. data lines up with contents
+    public void indexAll(List<Content> contents, List<String> data) {
+        List<Document> documents = new ArrayList<>(contents.size());
+        for (int i = 0; i < contents.size(); i++) {
+            Content content = contents.get(i);
+            documents.add(toDocument(content.getId(), content.getAuthor().getId(),
+                    content.getTitle(), content.getExcerpt(), data.get(i)));
+        }
+        afterCommit(() -> {
+            for (Document document : documents) {
+                writer.updateDocument(new Term(ID, document.get(ID)), document);
+            }
+        });
+    }
+
+    public void remove(Integer id) {
+        Term term = new Term(ID, id.toString());
+        afterCommit(() -> writer.deleteDocuments(term));
+    }
+
+    // For an author deleted with their posts, whose ids are gone by the time it commits
+    public void removeAuthor(Integer authorId) {
+        Term term = new Term(AUTHOR, authorId.toString());
+        afterCommit(() -> writer.deleteDocuments(term));
+    }
+
+    // Re-reads every post in id order, one batch at a time, and returns how many were indexed
+    public synchronized int rebuild() throws IOException {
+        Path rebuildPath = indexPath.resolveSibling(indexPath.getFileName() + ".rebuild");
+        deleteRecursively(rebuildPath);
+        synchronized (lock) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+        int indexed = 0;
+        try {
+            try (Directory directory = FSDirectory.open(rebuildPath);
+                 IndexWriter rebuildWriter = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                         .setOpenMode(IndexWriterConfig.OpenMode.CREATE))) {
+                Integer lastId = 0;
+                List<ContentExportView> batch;
+                do {
+                    batch = contentDao.findExportBatchAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+                    for (ContentExportView row : batch) {
+                        rebuildWriter.addDocument(toDocument(row.getId(), row.getAuthorId(),
+                                row.getTitle(), row.getExcerpt(), row.getData()));
+                        lastId = row.getId();
+                    }
+                    indexed += batch.size();
+                } while (batch.size() == REBUILD_BATCH_SIZE);
+                rebuildWriter.commit();
+            }
+
+            // Refreshes wait on the lock, so no searcher opens between the delete and the re-add
+            synchronized (lock) {
+                try (Directory directory = FSDirectory.open(rebuildPath)) {
+                    writer.deleteAll();
+                    writer.addIndexes(directory);
+                }
+                for (IndexChange change : changesDuringRebuild) {
+                    change.apply();
+                }
+                writer.setLiveCommitData(formatData());
+                writer.commit();
+                searcherManager.maybeRefresh();
+            }
+        } finally {
+            synchronized (lock) {
+                changesDuringRebuild = null;
+            }
+            deleteRecursively(rebuildPath);
+        }
+        return indexed;
+    }
+
+    // Ranked ids for one page of hits. Every term must match in at least one field
+    public Result search(String text, int offset, int limit) throws IOException {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return new Result(List.of(), 0);
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            BooleanQuery anyField = new BooleanQuery.Builder()
+                    .add(boosted(TITLE, term, 3f), BooleanClause.Occur.SHOULD)
+                    .add(boosted(EXCERPT, term, 2f), BooleanClause.Occur.SHOULD)
+                    .add(new TermQuery(new Term(BODY, term)), BooleanClause.Occur.SHOULD)
+                    .build();
+            query.add(anyField, BooleanClause.Occur.MUST);
+        }
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs topDocs = searcher.search(query.build(), offset + limit);
+            List<Integer> ids = new ArrayList<>(limit);
+            ScoreDoc[] hits = topDocs.scoreDocs;
+            for (int i = offset; i < hits.length; i++) {
+                ids.add(Integer.valueOf(searcher.storedFields().document(hits[i].doc).get(ID)));
+            }
+            return new Result(ids, topDocs.totalHits.value);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        worker.shutdownNow();
+        synchronized (lock) {
+            searcherManager.close();
+            // Commits whatever the last scheduled commit did not
+            writer.close();
+        }
+    }
+
+    private void refresh() {
+        try {
+            synchronized (lock) {
+                searcherManager.maybeRefresh();
+            }
+        } catch (Exception e) {
+            System.err.println("Error refreshing content search index: " + e.getMessage());
+        }
+    }
+
+    private void commit() {
+        try {
+            synchronized (lock) {
+                if (writer.hasUncommittedChanges()) {
+                    writer.commit();
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Error committing content search index: " + e.getMessage());
+        }
+    }
+
+    private static Iterable<Map.Entry<String, String>> formatData() {
+        return Map.of(FORMAT_KEY, FORMAT).entrySet();
+    }
+
+    private String committedFormat() {
+        Iterable<Map.Entry<String, String>> commitData = writer.getLiveCommitData();
+        for (Map.Entry<String, String> entry : commitData) {
+            if (FORMAT_KEY.equals(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private Document toDocument(Integer id, Integer authorId, String title, String excerpt, String data) {
+        Document document = new Document();
+        document.add(new StringField(ID, id.toString(), Field.Store.YES));
+        document.add(new StringField(AUTHOR, authorId.toString(), Field.Store.NO));
+        document.add(new TextField(TITLE, nullToEmpty(title), Field.Store.NO));
+        document.add(new TextField(EXCERPT, nullToEmpty(excerpt), Field.Store.NO));
+        document.add(new TextField(BODY, ContentText.extract(data), Field.Store.NO));
+        return document;
+    }
+
+    private static Query boosted(String field, String term, float boost) {
+        return new BoostQuery(new TermQuery(new Term(field, term)), boost);
+    }
+
+    private List<String> analyze(String text) throws IOException {
+        Set<String> terms = new LinkedHashSet<>();
+        try (TokenStream stream = analyzer.tokenStream(BODY, new StringReader(text))) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        }
+        return new ArrayList<>(terms);
+    }
+
+    private void afterCommit(IndexChange change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    // Visible with the next scheduled refresh and durable with the next scheduled commit
+    private void apply(IndexChange change) {
+        try {
+            synchronized (lock) {
+                change.apply();
+                if (changesDuringRebuild != null) {
+                    changesDuringRebuild.add(change);
+                }
+            }
+        } catch (IOException e) {
+            // The database write already went through; a rebuild brings the index back in line
+            System.err.println("Error updating content search index: " + e.getMessage());
+        }
+    }
+
+    private static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(path)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(file -> {
+                try {
+                    Files.delete(file);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private interface IndexChange {
+        void apply() throws IOException;
+    }
+
+    // One page of ranked content ids plus the total number of matches
+    public static class Result {
+        private final List<Integer> ids;
+        private final long totalHits;
+
+        public Result(List<Integer> ids, long totalHits) {
+            this.ids = ids;
+            this.totalHits = totalHits;
+        }
+
+        public List<Integer> getIds() {
+            return ids;
+        }
+
+        public long getTotalHits() {
+            return totalHits;
+        }
+    }
+}
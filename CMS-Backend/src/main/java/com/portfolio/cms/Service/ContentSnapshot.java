@@ -0,0 +1,598 @@
+package com.portfolio.cms.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.cms.DTO.ContentDTO;
+import com.portfolio.cms.DTO.ContentPageDTO;
+import com.portfolio.cms.DTO.ContentSummaryDTO;
+import com.portfolio.cms.Dao.AuthorContentCountView;
+import com.portfolio.cms.Dao.ContentDao;
+import com.portfolio.cms.Dao.ContentSnapshotView;
+import com.portfolio.cms.Dao.ContentSummaryView;
+import com.portfolio.cms.config.HttpCompression;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Static copy of the public read side under content.snapshot.dir, so a plain web server
+ * can answer anonymous reads without the application or the database:
+ * <pre>
+ *   content/{id}.json            as GET /api/content/{id}
+ *   content/{id}.html            as GET /api/content/{id}/html (with content.snapshot.html)
+ *   list/{n}.json                the newest-first listing, nextCursor naming the next page
+ *   author/{authorId}/{n}.json   the same for one author
+ * </pre>
+ * Larger files get a .gz twin for servers that serve precompressed files. A file is
+ * written beside its final name and renamed over it, so it is never seen half written,
+ * and left untouched when its bytes have not changed, so its validators stay valid.
+ * <p>
+ * Edits mark their post and author after commit, and a worker rewrites what was marked
+ * every content.snapshot.delay-ms. The worker keeps the newest-first order of all posts in
+ * memory, so it only rewrites the list pages a change reaches: the page of an edited post,
+ * or every page from where a post was added or removed. A full rebuild renders posts on
+ * content.snapshot.threads threads; it runs on startup and when an admin asks. Off while
+ * content.snapshot.dir is empty.
+ */
+@Component
+public class ContentSnapshot {
+
+    private static final int BATCH_SIZE = 200;
+    private static final int PAGE_SIZE = ContentService.DEFAULT_PAGE_SIZE;
+
+    @Autowired
+    private ContentDao contentDao;
+
+    @Autowired
+    private ContentRenderer contentRenderer;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${content.snapshot.html:true}")
+    private boolean writeHtml;
+
+    @Value("${content.snapshot.delay-ms:1000}")
+    private long delayMillis;
+
+    @Value("${content.compression.min-bytes:1024}")
+    private int gzipMinBytes;
+
+    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMMM d, yyyy");
+
+    // Null when snapshots are off
+    private final Path root;
+    private final ForkJoinPool pool;
+
+    private final Set<Integer> dirtyPosts = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> dirtyAuthors = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    // The order list/ was last written in, newest first, with each post's place in it. Only the
+    // worker touches them. Null until the whole listing has been written once
+    private List<ListingKey> listing;
+    private Map<Integer, ListingKey> listingKeys;
+
+    // One thread, so a rebuild and the incremental runs never write at the same time
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "content-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ContentSnapshot(@Value("${content.snapshot.dir:}") String dir,
+                           @Value("${content.snapshot.threads:0}") int threads) {
+        this.root = dir.isBlank() ? null : Paths.get(dir).toAbsolutePath();
+        this.pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        if (root == null) {
+            return;
+        }
+        startRebuild();
+        worker.scheduleWithFixedDelay(this::flush, delayMillis, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return root != null;
+    }
+
+    // Null when snapshots are off
+    public Path getRoot() {
+        return root;
+    }
+
+    // Rewrites the post (or removes it, if it is gone by then) and its author's listing
+    public void touch(Integer contentId, Integer authorId) {
+        if (root == null) {
+            return;
+        }
+        afterCommit(() -> {
+            dirtyPosts.add(contentId);
+            dirtyAuthors.add(authorId);
+        });
+    }
+
+    // For changes that reach into every file, e.g. an author renamed or deleted
+    public void requestRebuild() {
+        if (root != null) {
+            afterCommit(this::startRebuild);
+        }
+    }
+
+    // False if snapshots are off or a rebuild is already waiting to run
+    public boolean startRebuild() {
+        if (root == null || !rebuildQueued.compareAndSet(false, true)) {
+            return false;
+        }
+        worker.execute(this::rebuild);
+        return true;
+    }
+
+    void flush() {
+        if (dirtyPosts.isEmpty() && dirtyAuthors.isEmpty()) {
+            return;
+        }
+        List<Integer> posts = drain(dirtyPosts);
+        List<Integer> authors = drain(dirtyAuthors);
+        try {
+            // Read on the primary, which already has the commit that marked these
+            inTransaction(() -> {
+                // Where each post still there sits in the listing; the rest are gone
+                Map<Integer, ListingKey> current = new HashMap<>();
+                for (int i = 0; i < posts.size(); i += BATCH_SIZE) {
+                    List<Integer> batch = posts.subList(i, Math.min(i + BATCH_SIZE, posts.size()));
+                    List<ContentSnapshotView> rows = contentDao.findSnapshotsByIdIn(batch);
+                    writePosts(rows);
+                    rows.forEach(row -> current.put(row.getId(), new ListingKey(row.getCreatedAt(), row.getId())));
+                    for (Integer id : batch) {
+                        if (!current.containsKey(id)) {
+                            deletePost(id);
+                        }
+                    }
+                }
+                if (listing == null) {
+                    writeListing();
+                } else {
+                    updateListing(posts, current);
+                }
+                for (Integer authorId : authors) {
+                    writeAuthorListing(authorId);
+                }
+            });
+        } catch (Exception e) {
+            // The files may have fallen behind the order in memory, so the next run writes them all
+            listing = null;
+            dirtyPosts.addAll(posts);
+            dirtyAuthors.addAll(authors);
+            System.err.println("Error updating content snapshot, retrying with the next run: " + e.getMessage());
+        }
+    }
+
+    private void rebuild() {
+        // Cleared first: a change made while this runs may come too late for it, so it queues another
+        rebuildQueued.set(false);
+        try {
+            Set<Integer> written = new HashSet<>();
+            int lastId = 0;
+            List<ContentSnapshotView> rows;
+            do {
+                int after = lastId;
+                rows = query(() -> contentDao.findSnapshotBatchAfter(after, PageRequest.of(0, BATCH_SIZE)));
+                if (rows.isEmpty()) {
+                    break;
+                }
+                lastId = rows.get(rows.size() - 1).getId();
+                writePosts(rows);
+                rows.forEach(row -> written.add(row.getId()));
+            } while (rows.size() == BATCH_SIZE);
+            deletePostsExcept(written);
+
+            Set<Integer> authors = new HashSet<>();
+            inTransaction(() -> {
+                writeListing();
+                for (AuthorContentCountView author : contentDao.countByAuthor()) {
+                    writeAuthorListing(author.getAuthorId());
+                    authors.add(author.getAuthorId());
+                }
+            });
+            deleteAuthorsExcept(authors);
+        } catch (Exception e) {
+            listing = null;
+            System.err.println("Error rebuilding content snapshot: " + e.getMessage());
+        }
+    }
+
+    // Rendering and compressing is the expensive part, so posts are written in parallel
+    private void writePosts(List<ContentSnapshotView> rows) {
+        try {
+            pool.submit(() -> rows.parallelStream().forEach(this::writePost)).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Writing snapshot files failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while writing snapshot files", e);
+        }
+    }
+
+    private void writePost(ContentSnapshotView row) {
+        try {
+            Path dir = root.resolve("content");
+            write(dir.resolve(row.getId() + ".json"), objectMapper.writeValueAsBytes(convertToDTO(row)));
+            if (writeHtml) {
+                String html = row.getHtml();
+                // Saved before rendering existed, or by renderers that have changed since
+                if (html == null || !Objects.equals(row.getHtmlVersion(), contentRenderer.getVersion())) {
+                    html = contentRenderer.render(row.getData());
+                }
+                write(dir.resolve(row.getId() + ".html"), (html == null ? "" : html).getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Writes every page, and remembers the order they were written in
+    private void writeListing() {
+        List<ListingKey> keys = new ArrayList<>();
+        try (Stream<ContentSummaryView> rows = contentDao.streamNewestFirst()) {
+            writePages(root.resolve("list"), rows
+                    .peek(row -> keys.add(new ListingKey(row.getCreatedAt(), row.getId())))
+                    .iterator());
+        }
+        listing = keys;
+        listingKeys = new HashMap<>();
+        keys.forEach(key -> listingKeys.put(key.id(), key));
+    }
+
+    // Moves the changed posts to where they now belong and rewrites the pages that differ as a
+    // result. current holds the posts that still exist; the others have been deleted
+    private void updateListing(List<Integer> posts, Map<Integer, ListingKey> current) {
+        int oldPages = pageCount(listing.size());
+        Set<Integer> editedPages = new TreeSet<>();
+        // Every page from here on moves along by the posts added or removed before it
+        int firstShifted = Integer.MAX_VALUE;
+        for (Integer id : posts) {
+            ListingKey before = listingKeys.get(id);
+            ListingKey after = current.get(id);
+            if (Objects.equals(before, after)) {
+                if (after != null) {
+                    editedPages.add(position(after) / PAGE_SIZE);
+                }
+                continue;
+            }
+            if (before != null) {
+                int at = position(before);
+                listing.remove(at);
+                listingKeys.remove(id);
+                firstShifted = Math.min(firstShifted, at);
+            }
+            if (after != null) {
+                int at = -(Collections.binarySearch(listing, after, ListingKey.NEWEST_FIRST) + 1);
+                listing.add(at, after);
+                listingKeys.put(id, after);
+                firstShifted = Math.min(firstShifted, at);
+            }
+        }
+
+        int pages = pageCount(listing.size());
+        int firstShiftedPage = firstShifted == Integer.MAX_VALUE ? pages : firstShifted / PAGE_SIZE;
+        for (int page : editedPages) {
+            if (page < firstShiftedPage) {
+                writeListingPages(page, page + 1, pages);
+            }
+        }
+        if (firstShiftedPage < pages) {
+            writeListingPages(firstShiftedPage, pages, pages);
+        }
+        Path dir = root.resolve("list");
+        try {
+            for (int page = pages + 1; page <= oldPages; page++) {
+                Files.deleteIfExists(dir.resolve(page + ".json"));
+                Files.deleteIfExists(dir.resolve(page + ".json.gz"));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Pages [from, to), counted from 0, loaded a batch of pages at a time
+    private void writeListingPages(int from, int to, int pages) {
+        int pagesPerBatch = Math.max(1, BATCH_SIZE / PAGE_SIZE);
+        for (int first = from; first < to; first += pagesPerBatch) {
+            int last = Math.min(first + pagesPerBatch, to);
+            List<ListingKey> keys = listing.subList(first * PAGE_SIZE, Math.min(last * PAGE_SIZE, listing.size()));
+            Map<Integer, ContentSummaryView> rows = new HashMap<>();
+            if (!keys.isEmpty()) {
+                contentDao.findSummariesByIdIn(keys.stream().map(ListingKey::id).toList())
+                        .forEach(row -> rows.put(row.getId(), row));
+            }
+            for (int page = first; page < last; page++) {
+                List<ContentSummaryDTO> items = new ArrayList<>(PAGE_SIZE);
+                for (ListingKey key : listing.subList(page * PAGE_SIZE, Math.min((page + 1) * PAGE_SIZE, listing.size()))) {
+                    // Deleted since this run read it; the run that handles the delete rewrites the page
+                    ContentSummaryView row = rows.get(key.id());
+                    if (row != null) {
+                        items.add(convertToSummaryDTO(row));
+                    }
+                }
+                String next = page + 1 < pages ? String.valueOf(page + 2) : null;
+                try {
+                    write(root.resolve("list").resolve((page + 1) + ".json"),
+                            objectMapper.writeValueAsBytes(new ContentPageDTO(items, next)));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    private int position(ListingKey key) {
+        return Collections.binarySearch(listing, key, ListingKey.NEWEST_FIRST);
+    }
+
+    // There is always a page 1, empty if need be
+    private static int pageCount(int posts) {
+        return Math.max(1, (posts + PAGE_SIZE - 1) / PAGE_SIZE);
+    }
+
+    private void writeAuthorListing(Integer authorId) {
+        Path dir = root.resolve("author").resolve(authorId.toString());
+        List<ContentSummaryView> rows = contentDao.findSummariesByAuthorId(authorId);
+        if (rows.isEmpty()) {
+            deleteTree(dir);
+        } else {
+            writePages(dir, rows.iterator());
+        }
+    }
+
+    // Pages of PAGE_SIZE numbered from 1, with nextCursor naming the next page. There is always
+    // a page 1, empty if need be; pages past the last one are removed
+    private void writePages(Path dir, Iterator<ContentSummaryView> rows) {
+        try {
+            int page = 0;
+            do {
+                List<ContentSummaryDTO> items = new ArrayList<>(PAGE_SIZE);
+                while (items.size() < PAGE_SIZE && rows.hasNext()) {
+                    items.add(convertToSummaryDTO(rows.next()));
+                }
+                page++;
+                String next = rows.hasNext() ? String.valueOf(page + 1) : null;
+                write(dir.resolve(page + ".json"), objectMapper.writeValueAsBytes(new ContentPageDTO(items, next)));
+            } while (rows.hasNext());
+
+            int lastPage = page;
+            deleteFiles(dir, name -> {
+                Integer number = leadingNumber(name);
+                return number == null || number > lastPage;
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Written beside the file and renamed over it. A file already holding these bytes is left
+    // alone, so its mtime, and with it any validators a server derives from it, stays the same
+    private void write(Path file, byte[] bytes) throws IOException {
+        if (Files.isRegularFile(file) && Files.size(file) == bytes.length
+                && Arrays.equals(Files.readAllBytes(file), bytes)) {
+            return;
+        }
+        Files.createDirectories(file.getParent());
+        Path gzFile = file.resolveSibling(file.getFileName() + ".gz");
+        byte[] gzip = bytes.length >= gzipMinBytes ? HttpCompression.gzip(bytes) : null;
+        // Not worth a second copy if compression barely helps
+        if (gzip != null && gzip.length < bytes.length * 9L / 10) {
+            replace(gzFile, gzip);
+        } else {
+            Files.deleteIfExists(gzFile);
+        }
+        replace(file, bytes);
+    }
+
+    private static void replace(Path file, byte[] bytes) throws IOException {
+        Path temp = Files.createTempFile(file.getParent(), "." + file.getFileName(), ".tmp");
+        try {
+            Files.write(temp, bytes);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void deletePost(Integer id) {
+        Path dir = root.resolve("content");
+        try {
+            for (String name : List.of(id + ".json", id + ".json.gz", id + ".html", id + ".html.gz")) {
+                Files.deleteIfExists(dir.resolve(name));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Also clears temp files left by a crash mid-write
+    private void deletePostsExcept(Set<Integer> ids) throws IOException {
+        deleteFiles(root.resolve("content"), name -> {
+            Integer id = leadingNumber(name);
+            return id == null || !ids.contains(id);
+        });
+    }
+
+    private void deleteAuthorsExcept(Set<Integer> authorIds) throws IOException {
+        Path dir = root.resolve("author");
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+            for (Path entry : entries) {
+                Integer authorId = leadingNumber(entry.getFileName().toString());
+                if (authorId == null || !authorIds.contains(authorId)) {
+                    deleteTree(entry);
+                }
+            }
+        }
+    }
+
+    private static void deleteFiles(Path dir, Predicate<String> stale) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, Files::isRegularFile)) {
+            for (Path file : files) {
+                if (stale.test(file.getFileName().toString())) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static void deleteTree(Path path) {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(path)) {
+            for (Path each : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(each);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // "12" from "12", "12.json" or "12.html.gz"; null for anything else
+    private static Integer leadingNumber(String name) {
+        int dot = name.indexOf('.');
+        String number = dot < 0 ? name : name.substring(0, dot);
+        if (number.isEmpty() || number.length() > 9 || !number.chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        return Integer.parseInt(number);
+    }
+
+    private static List<Integer> drain(Set<Integer> ids) {
+        List<Integer> drained = new ArrayList<>(ids.size());
+        for (Iterator<Integer> it = ids.iterator(); it.hasNext(); ) {
+            drained.add(it.next());
+            it.remove();
+        }
+        return drained;
+    }
+
+    // Not read-only, so reads go to the primary rather than a replica that may lag the edit
+    private <T> T query(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> work.get());
+    }
+
+    private void inTransaction(Runnable work) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> work.run());
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    // A post's place in the newest-first listing, which edits leave alone
+    private record ListingKey(LocalDateTime createdAt, Integer id) {
+        static final Comparator<ListingKey> NEWEST_FIRST = Comparator.comparing(ListingKey::createdAt)
+                .thenComparing(ListingKey::id)
+                .reversed();
+    }
+
+    private ContentDTO convertToDTO(ContentSnapshotView row) {
+        ContentDTO dto = new ContentDTO();
+        dto.setId(row.getId());
+        dto.setTitle(row.getTitle());
+        dto.setExcerpt(row.getExcerpt());
+        dto.setAuthor(row.getAuthorUsername());
+        dto.setAuthorId(row.getAuthorId());
+        dto.setDate(row.getCreatedAt().format(formatter));
+        dto.setImage(row.getImage());
+        dto.setData(row.getData());
+
+        // Add updated date if available
+        if (row.getUpdatedAt() != null) {
+            dto.setUpdatedAt(row.getUpdatedAt().format(formatter));
+        }
+
+        return dto;
+    }
+
+    private ContentSummaryDTO convertToSummaryDTO(ContentSummaryView summary) {
+        ContentSummaryDTO dto = new ContentSummaryDTO();
+        dto.setId(summary.getId());
+        dto.setTitle(summary.getTitle());
+        dto.setExcerpt(summary.getExcerpt());
+        dto.setAuthor(summary.getAuthorUsername());
+        dto.setAuthorId(summary.getAuthorId());
+        dto.setDate(summary.getCreatedAt().format(formatter));
+        dto.setImage(summary.getImage());
+
+        // Add updated date if available
+        if (summary.getUpdatedAt() != null) {
+            dto.setUpdatedAt(summary.getUpdatedAt().format(formatter));
+        }
+
+        return dto;
+    }
+}
@@ -0,0 +1,183 @@
+package com.portfolio.cms.Service;
+
+import com.portfolio.cms.Dao.AuthorContentCountView;
+import com.portfolio.cms.Dao.ContentDao;
+import com.portfolio.cms.Dao.MonthContentCountView;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Post counts per author and per month, plus the latest change, kept in memory.
+ * Creates, edits and deletes adjust them as they commit, so reading them never
+ * touches the content table. The counts are rebuilt from the database on startup
+ * and every content.stats.reconcile-minutes, which repairs anything the increments
+ * cannot see, such as posts removed along with their author or writes from another node.
+ */
+@Component
+public class ContentStats {
+
+    @Autowired
+    private ContentDao contentDao;
+
+    @Value("${content.stats.reconcile-minutes:15}")
+    private long reconcileMinutes;
+
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "content-stats");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Replaced as a whole on every rebuild, so readers never see a half-built set
+    private volatile Counters counters = new Counters();
+    private volatile LocalDateTime reconciledAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+        worker.scheduleWithFixedDelay(this::reconcile, reconcileMinutes, reconcileMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    public void recordCreated(Integer authorId, LocalDateTime createdAt) {
+        afterCommit(() -> {
+            Counters current = counters;
+            current.total.increment();
+            current.author(authorId).posts.increment();
+            current.months.computeIfAbsent(YearMonth.from(createdAt), month -> new LongAdder()).increment();
+            current.touch(authorId, createdAt);
+        });
+    }
+
+    public void recordUpdated(Integer authorId, LocalDateTime updatedAt) {
+        afterCommit(() -> counters.touch(authorId, updatedAt));
+    }
+
+    // The last-updated times are left as they are until the next rebuild
+    public void recordDeleted(Integer authorId, LocalDateTime createdAt) {
+        afterCommit(() -> {
+            Counters current = counters;
+            current.total.decrement();
+            current.author(authorId).posts.decrement();
+            current.months.computeIfAbsent(YearMonth.from(createdAt), month -> new LongAdder()).decrement();
+        });
+    }
+
+    // For changes that touch posts in bulk, such as deleting a user with everything they wrote
+    public void requestReconcile() {
+        afterCommit(() -> worker.execute(this::reconcile));
+    }
+
+    public void reconcile() {
+        try {
+            Counters rebuilt = new Counters();
+            for (AuthorContentCountView row : contentDao.countByAuthor()) {
+                AuthorCounter author = rebuilt.author(row.getAuthorId());
+                author.posts.add(row.getPosts());
+                rebuilt.total.add(row.getPosts());
+                rebuilt.touch(row.getAuthorId(), row.getLastUpdated());
+            }
+            for (MonthContentCountView row : contentDao.countByMonth()) {
+                if (row.getYear() != null) {
+                    LongAdder posts = new LongAdder();
+                    posts.add(row.getPosts());
+                    rebuilt.months.put(YearMonth.of(row.getYear(), row.getMonth()), posts);
+                }
+            }
+            counters = rebuilt;
+            reconciledAt = LocalDateTime.now();
+        } catch (Exception e) {
+            System.err.println("Error rebuilding content stats: " + e.getMessage());
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Counters current = counters;
+        Map<String, Long> postsByMonth = new TreeMap<>();
+        current.months.forEach((month, posts) -> postsByMonth.put(month.toString(), posts.sum()));
+        Map<Integer, Long> postsByAuthor = new TreeMap<>();
+        current.authors.forEach((authorId, author) -> postsByAuthor.put(authorId, author.posts.sum()));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("totalPosts", current.total.sum());
+        result.put("lastUpdated", current.lastUpdated.get());
+        result.put("postsByMonth", postsByMonth);
+        result.put("postsByAuthor", postsByAuthor);
+        result.put("reconciledAt", reconciledAt);
+        return result;
+    }
+
+    public Map<String, Object> getAuthorStats(Integer authorId) {
+        AuthorCounter author = counters.authors.get(authorId);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("authorId", authorId);
+        result.put("posts", author == null ? 0L : author.posts.sum());
+        result.put("lastUpdated", author == null ? null : author.lastUpdated.get());
+        return result;
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+
+    private static final class Counters {
+
+        private final LongAdder total = new LongAdder();
+        private final AtomicReference<LocalDateTime> lastUpdated = new AtomicReference<>();
+        private final Map<Integer, AuthorCounter> authors = new ConcurrentHashMap<>();
+        private final Map<YearMonth, LongAdder> months = new ConcurrentHashMap<>();
+
+        private AuthorCounter author(Integer authorId) {
+            return authors.computeIfAbsent(authorId, id -> new AuthorCounter());
+        }
+
+        private void touch(Integer authorId, LocalDateTime time) {
+            lastUpdated.accumulateAndGet(time, ContentStats::latest);
+            author(authorId).lastUpdated.accumulateAndGet(time, ContentStats::latest);
+        }
+    }
+
+    private static final class AuthorCounter {
+
+        private final LongAdder posts = new LongAdder();
+        private final AtomicReference<LocalDateTime> lastUpdated = new AtomicReference<>();
+    }
+}
@@ -0,0 +1,72 @@
+package com.portfolio.cms.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+// Pulls the readable text out of an EditorJS document for indexing
+public class ContentText {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    // Block properties that hold links, file metadata or styling rather than prose
+    private static final Set<String> SKIPPED_KEYS = Set.of("url", "file", "link", "source", "embed",
+            "style", "level", "alignment", "withBorder", "withBackground", "stretched");
+
+    private ContentText() {
+    }
+
+    public static String extract(String data) {
+        if (data == null || data.isBlank()) {
+            return "";
+        }
+        JsonNode root;
+        try {
+            root = MAPPER.readTree(data);
+        } catch (Exception e) {
+            // Not EditorJS JSON, index it as plain text
+            return stripTags(data);
+        }
+        StringBuilder text = new StringBuilder();
+        JsonNode blocks = root.path("blocks");
+        if (blocks.isArray()) {
+            for (JsonNode block : blocks) {
+                collect(block.path("data"), text);
+            }
+        } else {
+            collect(root, text);
+        }
+        return text.toString();
+    }
+
+    private static void collect(JsonNode node, StringBuilder text) {
+        if (node.isTextual()) {
+            text.append(stripTags(node.asText())).append('\n');
+        } else if (node.isArray()) {
+            for (JsonNode child : node) {
+                collect(child, text);
+            }
+        } else if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (!SKIPPED_KEYS.contains(field.getKey())) {
+                    collect(field.getValue(), text);
+                }
+            }
+        }
+    }
+
+    // EditorJS inline formatting is stored as HTML (<b>, <a href>, &nbsp;)
+    private static String stripTags(String html) {
+        return html.replaceAll("<[^>]*>", " ")
+                .replace("&nbsp;", " ")
+                .replace("&amp;", "&")
+                .replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&quot;", "\"");
+    }
+}
@@ -0,0 +1,223 @@
+package com.portfolio.cms.Service;
+
+import com.portfolio.cms.Dao.ContentDao;
+import com.portfolio.cms.Dao.ContentSummaryView;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Most-read posts over the last hour and day, fed by post views. Each window is a ring
+ * of time buckets, each bucket a Count-Min Sketch, plus a running sketch of the whole
+ * window that drops a bucket's counts as it expires. Alongside it a bounded set of
+ * heavy-hitter candidates is kept: an id joins once its count beats the weakest one
+ * kept. Memory depends on the sketch size and content.trending.top-k, never on how
+ * many posts there are. The ranking is recomputed in the background every
+ * content.trending.refresh-ms, so a request only reads the last result.
+ */
+@Component
+public class ContentTrending {
+
+    // 4 x 1024 counters per sketch: overcounts by at most ~0.3% of the window's views, 98% of the time
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 1024;
+
+    // Hard cap on candidates between refreshes, as a multiple of the number kept
+    private static final int MAX_CANDIDATE_FACTOR = 4;
+
+    @Autowired
+    private ContentDao contentDao;
+
+    @Value("${content.trending.top-k:50}")
+    private int topK;
+
+    @Value("${content.trending.refresh-ms:10000}")
+    private long refreshMillis;
+
+    private final Map<String, Window> windows = new LinkedHashMap<>();
+
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "content-trending");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void start() {
+        windows.put("1h", new Window(TimeUnit.MINUTES.toMillis(5), 12));
+        windows.put("24h", new Window(TimeUnit.HOURS.toMillis(1), 24));
+        worker.scheduleWithFixedDelay(this::refresh, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    public void record(Integer contentId) {
+        record(contentId, System.currentTimeMillis());
+    }
+
+    void record(Integer contentId, long now) {
+        for (Window window : windows.values()) {
+            window.record(contentId, now);
+        }
+    }
+
+    public Set<String> getWindows() {
+        return windows.keySet();
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    // Ranked as of the last refresh, or null for an unknown window
+    public List<Entry> getTop(String window) {
+        Window found = windows.get(window);
+        return found == null ? null : found.top;
+    }
+
+    void refresh() {
+        refresh(System.currentTimeMillis());
+    }
+
+    void refresh(long now) {
+        for (Window window : windows.values()) {
+            try {
+                window.refresh(now);
+            } catch (Exception e) {
+                System.err.println("Error refreshing trending content: " + e.getMessage());
+            }
+        }
+    }
+
+    public static final class Entry {
+
+        private final ContentSummaryView content;
+        private final long views;
+
+        private Entry(ContentSummaryView content, long views) {
+            this.content = content;
+            this.views = views;
+        }
+
+        public ContentSummaryView getContent() {
+            return content;
+        }
+
+        // Estimated, never below the real count
+        public long getViews() {
+            return views;
+        }
+    }
+
+    private final class Window {
+
+        private final long bucketMillis;
+        private final CountMinSketch[] buckets;
+        private final CountMinSketch total = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH);
+        private final Set<Integer> candidates = ConcurrentHashMap.newKeySet();
+
+        // Which bucket is current, counted in bucket lengths since the epoch
+        private volatile long currentBucket;
+        // Count of the weakest candidate kept at the last refresh
+        private volatile long threshold;
+        private volatile List<Entry> top = List.of();
+
+        private Window(long bucketMillis, int bucketCount) {
+            this.bucketMillis = bucketMillis;
+            this.buckets = new CountMinSketch[bucketCount];
+            for (int i = 0; i < bucketCount; i++) {
+                buckets[i] = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH);
+            }
+            this.currentBucket = System.currentTimeMillis() / bucketMillis;
+        }
+
+        private void record(int contentId, long now) {
+            long bucket = rotate(now);
+            buckets[(int) (bucket % buckets.length)].add(contentId, 1);
+            total.add(contentId, 1);
+
+            if (!candidates.contains(contentId) && candidates.size() < topK * MAX_CANDIDATE_FACTOR
+                    && (candidates.size() < topK || total.estimate(contentId) > threshold)) {
+                candidates.add(contentId);
+            }
+        }
+
+        // Clears the buckets that have fallen out of the window. A view racing with the
+        // clear may be dropped from or left in the running total; the ranking is an estimate anyway
+        private long rotate(long now) {
+            long bucket = now / bucketMillis;
+            if (bucket == currentBucket) {
+                return bucket;
+            }
+            synchronized (this) {
+                long from = currentBucket;
+                if (bucket > from) {
+                    for (long expired = Math.max(from + 1, bucket - buckets.length + 1); expired <= bucket; expired++) {
+                        CountMinSketch slot = buckets[(int) (expired % buckets.length)];
+                        total.subtract(slot);
+                        slot.clear();
+                    }
+                    currentBucket = bucket;
+                }
+            }
+            return bucket;
+        }
+
+        private void refresh(long now) {
+            rotate(now);
+
+            List<long[]> ranked = new ArrayList<>(candidates.size());
+            for (Integer id : candidates) {
+                long views = total.estimate(id);
+                if (views > 0) {
+                    ranked.add(new long[]{id, views});
+                } else {
+                    candidates.remove(id);
+                }
+            }
+            ranked.sort(Comparator.comparingLong((long[] row) -> row[1]).reversed());
+
+            // Keep the strongest; the rest must outgrow the weakest of these to come back
+            for (int i = topK; i < ranked.size(); i++) {
+                candidates.remove((int) ranked.get(i)[0]);
+            }
+            List<long[]> kept = ranked.subList(0, Math.min(topK, ranked.size()));
+            threshold = kept.size() < topK ? 0 : kept.get(kept.size() - 1)[1];
+
+            if (kept.isEmpty()) {
+                top = List.of();
+                return;
+            }
+            List<Integer> ids = kept.stream().map(row -> (int) row[0]).collect(Collectors.toList());
+            Map<Integer, ContentSummaryView> rows = contentDao.findSummariesByIdIn(ids).stream()
+                    .collect(Collectors.toMap(ContentSummaryView::getId, Function.identity()));
+            List<Entry> entries = new ArrayList<>(kept.size());
+            for (long[] row : kept) {
+                // Posts deleted since they were read drop out here
+                ContentSummaryView content = rows.get((int) row[0]);
+                if (content != null) {
+                    entries.add(new Entry(content, row[1]));
+                }
+            }
+            top = List.copyOf(entries);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.portfolio.cms.Service;
+
+import com.portfolio.cms.Dao.ContentViewCountDao;
+import com.portfolio.cms.Model.ContentViewCount;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts post views in memory and adds them to content_view_count every
+ * content.views.flush-ms, so a popular post costs one row update per flush rather
+ * than one per read. Each post has its own LongAdder, which spreads concurrent
+ * increments over cells instead of contending on one value. Counts not yet written
+ * are flushed on shutdown, and put back for the next flush if writing fails. Views of
+ * a post that is deleted meanwhile are dropped rather than written back for it.
+ */
+@Component
+public class ContentViewCounter {
+
+    // Adds onto an existing row. With rewriteBatchedStatements a batch goes out as one multi-row INSERT
+    private static final String FLUSH_SQL = "INSERT INTO content_view_count (content_id, views) VALUES (?, ?) " +
+            "ON DUPLICATE KEY UPDATE views = views + VALUES(views)";
+
+    // content_view_count has no foreign key, so a post deleted between a view and the flush
+    // would get its row back from the insert above. Locking reads of content wait for that delete
+    private static final String ORPHANS_SQL = "DELETE FROM content_view_count WHERE content_id IN (%s) " +
+            "AND NOT EXISTS (SELECT 1 FROM content c WHERE c.id = content_view_count.content_id)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ContentViewCountDao contentViewCountDao;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${content.views.flush-ms:5000}")
+    private long flushMillis;
+
+    // Entries idle for a whole flush are removed, so only recently viewed posts stay resident
+    private final Map<Integer, LongAdder> pending = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "content-views");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    public void start() {
+        worker.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        worker.shutdown();
+        worker.awaitTermination(30, TimeUnit.SECONDS);
+        flush();
+    }
+
+    public void increment(Integer contentId) {
+        pending.computeIfAbsent(contentId, id -> new LongAdder()).increment();
+    }
+
+    // For deleted posts, once the delete commits
+    public void discard(Integer contentId) {
+        afterCommit(() -> pending.remove(contentId));
+    }
+
+    // For the posts of a deleted author
+    public void discardAll(Collection<Integer> contentIds) {
+        List<Integer> ids = new ArrayList<>(contentIds);
+        afterCommit(() -> {
+            for (Integer contentId : ids) {
+                pending.remove(contentId);
+            }
+        });
+    }
+
+    // Stored count plus whatever this node has not flushed yet
+    public long getViews(Integer contentId) {
+        long stored = contentViewCountDao.findById(contentId).map(ContentViewCount::getViews).orElse(0L);
+        return stored + unflushed(contentId);
+    }
+
+    public Map<Integer, Long> getViews(Collection<Integer> contentIds) {
+        Map<Integer, Long> views = new LinkedHashMap<>();
+        for (Integer id : contentIds) {
+            views.put(id, unflushed(id));
+        }
+        for (ContentViewCount row : contentViewCountDao.findAllById(contentIds)) {
+            views.merge(row.getContentId(), row.getViews(), Long::sum);
+        }
+        return views;
+    }
+
+    public synchronized void flush() {
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<Integer, LongAdder> entry : pending.entrySet()) {
+            // Increments landing during the reset stay in the adder for the next flush
+            LongAdder adder = entry.getValue();
+            long views = adder.sumThenReset();
+            if (views != 0) {
+                rows.add(new Object[]{entry.getKey(), views});
+            } else if (pending.remove(entry.getKey(), adder)) {
+                // Not viewed since the last flush. A view that got hold of the adder before the
+                // removal is moved over to a fresh entry rather than lost with it
+                long late = adder.sumThenReset();
+                if (late != 0) {
+                    pending.computeIfAbsent(entry.getKey(), id -> new LongAdder()).add(late);
+                }
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        // The same lock order on every node, so concurrent flushes cannot deadlock
+        rows.sort(Comparator.comparingInt(row -> (Integer) row[0]));
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(FLUSH_SQL, rows);
+                jdbcTemplate.update(ORPHANS_SQL.formatted(String.join(",", Collections.nCopies(rows.size(), "?"))),
+                        rows.stream().map(row -> row[0]).toArray());
+            });
+        } catch (Exception e) {
+            for (Object[] row : rows) {
+                pending.computeIfAbsent((Integer) row[0], id -> new LongAdder()).add((Long) row[1]);
+            }
+            System.err.println("Error flushing view counts, retrying with the next flush: " + e.getMessage());
+        }
+    }
+
+    private long unflushed(Integer contentId) {
+        LongAdder views = pending.get(contentId);
+        return views == null ? 0 : views.sum();
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.portfolio.cms.Service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size frequency table for int keys. Estimates never undercount; they overcount
+ * by at most about e/width of everything added, with probability 1 - e^-depth.
+ * Updates are lock-free, so request threads can add concurrently.
+ */
+public class CountMinSketch {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x94D049BB133111EBL, 0xBF58476D1CE4E5B9L
+    };
+
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray counts;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || depth > SEEDS.length || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("depth must be 1-" + SEEDS.length + " and width a power of two");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counts = new AtomicLongArray(depth * width);
+    }
+
+    public void add(int key, long count) {
+        for (int row = 0; row < depth; row++) {
+            counts.addAndGet(index(row, key), count);
+        }
+    }
+
+    public long estimate(int key) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counts.get(index(row, key)));
+        }
+        return Math.max(min, 0);
+    }
+
+    // Removes everything another sketch of the same shape holds, e.g. a time bucket leaving a window
+    public void subtract(CountMinSketch other) {
+        for (int i = 0; i < counts.length(); i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, -count);
+            }
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    private int index(int row, int key) {
+        // splitmix64 finaliser with a different seed per row
+        long hash = (key + SEEDS[row]) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 31)) * 0x94D049BB133111EBL;
+        hash ^= hash >>> 29;
+        return row * width + (int) (hash & (width - 1));
+    }
+}
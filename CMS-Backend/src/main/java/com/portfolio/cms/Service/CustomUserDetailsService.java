@@ -23,19 +23,23 @@ public class CustomUserDetailsService implements UserDetailsService {
         User user = (User) authDao.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
+        return new org.springframework.security.core.userdetails.User(
+                user.getEmail(),
+                user.getPassword(),
+                authorities(user.isAdmin())
+        );
+    }
+
+    // Shared with UserStateCache so a token carries the same roles a fresh login would get
+    public static List<SimpleGrantedAuthority> authorities(boolean admin) {
         // Create authorities list based on admin flag
         List<SimpleGrantedAuthority> authorities = new ArrayList<>();
         authorities.add(new SimpleGrantedAuthority("ROLE_USER")); // All users get the USER role
 
         // Add ADMIN role if user is an admin
-        if (user.isAdmin()) {
+        if (admin) {
             authorities.add(new SimpleGrantedAuthority("ROLE_ADMIN"));
         }
-
-        return new org.springframework.security.core.userdetails.User(
-                user.getEmail(),
-                user.getPassword(),
-                authorities
-        );
+        return authorities;
     }
 }
\ No newline at end of file
@@ -0,0 +1,151 @@
+package com.portfolio.cms.Service;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Comparator;
+
+/**
+ * RFC 6902 JSON Patch over Jackson trees. The operations work on a copy, so a patch
+ * that fails halfway leaves the document as it was. A malformed patch throws
+ * IllegalArgumentException; one that does not fit the document (a missing path, a
+ * failed test) throws IllegalStateException.
+ */
+public class JsonPatch {
+
+    // Numbers are equal by value, so 1 and 1.0 pass a test
+    private static final Comparator<JsonNode> VALUE_ORDER = (a, b) -> {
+        if (a.isNumber() && b.isNumber()) {
+            return a.decimalValue().compareTo(b.decimalValue());
+        }
+        return a.equals(b) ? 0 : 1;
+    };
+
+    private JsonPatch() {
+    }
+
+    public static JsonNode apply(JsonNode document, JsonNode patch) {
+        if (patch == null || !patch.isArray()) {
+            throw new IllegalArgumentException("A JSON Patch must be an array of operations");
+        }
+        JsonNode result = document.deepCopy();
+        for (int i = 0; i < patch.size(); i++) {
+            JsonNode operation = patch.get(i);
+            String op = operation.path("op").asText();
+            JsonPointer path = pointer(operation, "path", i);
+            switch (op) {
+                case "add" -> result = add(result, path, value(operation, i));
+                case "remove" -> remove(result, path);
+                case "replace" -> result = replace(result, path, value(operation, i));
+                case "move" -> {
+                    JsonPointer from = pointer(operation, "from", i);
+                    if (path.toString().startsWith(from + "/")) {
+                        throw new IllegalStateException("Operation " + i + " moves " + from + " into itself");
+                    }
+                    result = add(result, path, from.matches() ? result : remove(result, from));
+                }
+                case "copy" -> result = add(result, path, get(result, pointer(operation, "from", i)).deepCopy());
+                case "test" -> {
+                    if (!get(result, path).equals(VALUE_ORDER, value(operation, i))) {
+                        throw new IllegalStateException("Test failed at " + path);
+                    }
+                }
+                default -> throw new IllegalArgumentException("Operation " + i + " has an unknown op: " + op);
+            }
+        }
+        return result;
+    }
+
+    // Returns the new document, which is the value itself when the target is the root
+    private static JsonNode add(JsonNode document, JsonPointer path, JsonNode value) {
+        if (path.matches()) {
+            return value;
+        }
+        JsonNode parent = document.at(path.head());
+        String name = path.last().getMatchingProperty();
+        if (parent.isObject()) {
+            ((ObjectNode) parent).set(name, value);
+        } else if (parent.isArray()) {
+            ArrayNode array = (ArrayNode) parent;
+            if ("-".equals(name)) {
+                array.add(value);
+            } else {
+                array.insert(index(path, array.size()), value);
+            }
+        } else {
+            throw new IllegalStateException("No object or array at " + path.head());
+        }
+        return document;
+    }
+
+    // In place, so a replaced member keeps its position among the others
+    private static JsonNode replace(JsonNode document, JsonPointer path, JsonNode value) {
+        if (path.matches()) {
+            return value;
+        }
+        JsonNode parent = document.at(path.head());
+        String name = path.last().getMatchingProperty();
+        if (parent.isObject() && parent.has(name)) {
+            ((ObjectNode) parent).set(name, value);
+        } else if (parent.isArray()) {
+            ((ArrayNode) parent).set(index(path, parent.size() - 1), value);
+        } else {
+            throw new IllegalStateException("Nothing at " + path);
+        }
+        return document;
+    }
+
+    private static JsonNode remove(JsonNode document, JsonPointer path) {
+        if (path.matches()) {
+            throw new IllegalStateException("The whole document cannot be removed");
+        }
+        JsonNode parent = document.at(path.head());
+        String name = path.last().getMatchingProperty();
+        if (parent.isObject() && parent.has(name)) {
+            return ((ObjectNode) parent).remove(name);
+        }
+        if (parent.isArray()) {
+            return ((ArrayNode) parent).remove(index(path, parent.size() - 1));
+        }
+        throw new IllegalStateException("Nothing at " + path);
+    }
+
+    private static JsonNode get(JsonNode document, JsonPointer path) {
+        JsonNode node = document.at(path);
+        if (node.isMissingNode()) {
+            throw new IllegalStateException("Nothing at " + path);
+        }
+        return node;
+    }
+
+    private static int index(JsonPointer path, int max) {
+        int index = path.last().getMatchingIndex();
+        if (index < 0 || index > max) {
+            throw new IllegalStateException("Array index out of range at " + path);
+        }
+        return index;
+    }
+
+    private static JsonPointer pointer(JsonNode operation, String field, int i) {
+        JsonNode pointer = operation.get(field);
+        if (pointer == null || !pointer.isTextual()) {
+            throw new IllegalArgumentException("Operation " + i + " is missing \"" + field + "\"");
+        }
+        try {
+            return JsonPointer.compile(pointer.asText());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Operation " + i + " has an invalid \"" + field + "\": " + e.getMessage());
+        }
+    }
+
+    // Copied, so one patch value added twice does not end up as the same node in two places
+    private static JsonNode value(JsonNode operation, int i) {
+        JsonNode value = operation.get("value");
+        if (value == null) {
+            throw new IllegalArgumentException("Operation " + i + " is missing \"value\"");
+        }
+        return value.deepCopy();
+    }
+}
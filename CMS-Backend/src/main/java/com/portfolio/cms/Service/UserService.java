@@ -8,6 +8,7 @@ import com.portfolio.cms.Dao.VerificationTokenDao;
 import com.portfolio.cms.Model.VerificationToken;
 import com.portfolio.cms.config.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import com.portfolio.cms.Model.User;
@@ -17,12 +18,14 @@ import java.util.*;
 
 import com.portfolio.cms.Dao.PasswordResetDao;
 import com.portfolio.cms.Dao.UserDao;
+import com.portfolio.cms.Dao.ContentDao;
+import com.portfolio.cms.Dao.ContentViewCountDao;
 import com.portfolio.cms.Model.PasswordReset;
-import jakarta.transaction.Transactional;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
@@ -55,6 +58,22 @@ public class UserService {
     private VerificationTokenDao verificationTokenDao;
     @Autowired
     JavaMailSender emailSender;
+    @Autowired
+    private ContentCache contentCache;
+    @Autowired
+    private ContentStats contentStats;
+    @Autowired
+    private ContentSnapshot contentSnapshot;
+    @Autowired
+    private UserStateCache userStateCache;
+    @Autowired
+    private ContentSearchIndex contentSearchIndex;
+    @Autowired
+    private ContentDao contentDao;
+    @Autowired
+    private ContentViewCountDao contentViewCountDao;
+    @Autowired
+    private ContentViewCounter contentViewCounter;
 
     public String createPasswordResetTokenForUser(String email) {
         User user = userDao.findByEmail(email)
@@ -101,6 +120,7 @@ public class UserService {
         passwordResetDao.delete(resetToken);
     }
 
+    @Transactional(readOnly = true)
     public ResponseEntity<Object> getUserDetails(HttpServletRequest request) {
         try {
             String authHeader = request.getHeader("Authorization");
@@ -152,7 +172,7 @@ public class UserService {
                 public boolean isAdmin() { return admin; }
             }
 
-            return ResponseEntity.ok(new UserDetailsResponse(user));
+            return ResponseEntity.ok().eTag(profileETag(user)).body(new UserDetailsResponse(user));
         } catch (Exception e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -181,6 +201,15 @@ public class UserService {
             }
 
             User user = userData.get();
+
+            // If-Match names the version of the profile the edit was made against. An edit that
+            // slips in between here and the commit still fails on the @Version check
+            String ifMatch = request.getHeader(HttpHeaders.IF_MATCH);
+            if (ifMatch != null && !ContentETag.matchesAny(ifMatch, profileETag(user))) {
+                return new ResponseEntity<>("User details have changed since they were read",
+                        HttpStatus.PRECONDITION_FAILED);
+            }
+
             boolean userModified = false;
 
             // Update username if provided
@@ -238,6 +267,9 @@ public class UserService {
             // Save user if any changes were made
             if (userModified) {
                 userDao.save(user);
+                // Cached posts carry the author's username
+                contentCache.evictAll();
+                contentSnapshot.requestRebuild();
                 return ResponseEntity.ok("User details updated successfully");
             } else {
                 return ResponseEntity.ok("No changes made to user details");
@@ -419,6 +451,8 @@ public class UserService {
             // Update the email
             user.setEmail(newEmail);
             userDao.save(user);
+            // Tokens for the old address stop authenticating
+            userStateCache.evict(currentEmail);
 
             // Clean up verification token
             verificationTokenDao.delete(verificationToken);
@@ -478,8 +512,18 @@ public class UserService {
 
             User user = userData.get();
 
-            // Delete the user
+            // Delete the user (their content goes with them, but not its view counts)
+            List<Integer> postIds = contentDao.findIdsByAuthorId(user.getId());
             userDao.delete(user);
+            if (!postIds.isEmpty()) {
+                contentViewCountDao.deleteByContentIdIn(postIds);
+                contentViewCounter.discardAll(postIds);
+            }
+            userStateCache.evict(authenticatedEmail);
+            contentSearchIndex.removeAuthor(user.getId());
+            contentCache.evictAll();
+            contentStats.requestReconcile();
+            contentSnapshot.requestRebuild();
 
             return ResponseEntity.ok("Account deleted successfully");
 
@@ -488,4 +532,8 @@ public class UserService {
                     HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
-}
\ No newline at end of file
+
+    private static String profileETag(User user) {
+        return "\"user-" + user.getId() + "-v" + user.getVersion() + "\"";
+    }
+}
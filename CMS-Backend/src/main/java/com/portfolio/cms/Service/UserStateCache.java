@@ -0,0 +1,74 @@
+package com.portfolio.cms.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.portfolio.cms.Dao.AuthDao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * What JwtRequestFilter needs to know about a signed-in user beyond the token: whether the
+ * account still exists and whether it is an admin. Lets the filter trust a verified token
+ * while asking the database at most once per user every security.jwt.user-state-ttl-seconds.
+ * Changes made through this instance evict at once; those made on another show up within the TTL.
+ */
+@Component
+public class UserStateCache {
+
+    @Autowired
+    private AuthDao authDao;
+
+    // The admin flag, or empty when there is no such user (Caffeine does not cache nulls)
+    private final Cache<String, Optional<Boolean>> cache;
+
+    public UserStateCache(@Value("${security.jwt.user-state-ttl-seconds:30}") long ttlSeconds,
+                          @Value("${security.jwt.user-state-max-users:100000}") long maxUsers) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    // The user's current roles, or null when the account is gone
+    public List<SimpleGrantedAuthority> authorities(String email) {
+        return cache.get(email, authDao::findAdminByEmail)
+                .map(CustomUserDetailsService::authorities)
+                .orElse(null);
+    }
+
+    // Evicts now and again once the surrounding transaction finishes, so a request
+    // racing the commit cannot leave the old state cached
+    public void evict(String email) {
+        cache.invalidate(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(email);
+                }
+            });
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("entries", cache.estimatedSize());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        return result;
+    }
+}
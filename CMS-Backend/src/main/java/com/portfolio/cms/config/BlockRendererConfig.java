@@ -0,0 +1,148 @@
+package com.portfolio.cms.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.portfolio.cms.Service.BlockRenderer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.BiConsumer;
+
+import static com.portfolio.cms.Service.ContentRenderer.escape;
+import static com.portfolio.cms.Service.ContentRenderer.inline;
+import static com.portfolio.cms.Service.ContentRenderer.plain;
+import static com.portfolio.cms.Service.ContentRenderer.url;
+
+/**
+ * Renderers for the blocks the editor offers (see ContentEditor.jsx in the frontend).
+ * Changing what one of them outputs means bumping its version so stored HTML is redone.
+ */
+@Configuration
+public class BlockRendererConfig {
+
+    @Bean
+    public BlockRenderer paragraphRenderer() {
+        return renderer("paragraph", 1, (data, html) ->
+                html.append("<p>").append(inline(data.path("text").asText())).append("</p>"));
+    }
+
+    @Bean
+    public BlockRenderer headerRenderer() {
+        return renderer("header", 1, (data, html) -> {
+            int level = Math.max(1, Math.min(6, data.path("level").asInt(2)));
+            html.append("<h").append(level).append('>')
+                    .append(inline(data.path("text").asText()))
+                    .append("</h").append(level).append('>');
+        });
+    }
+
+    @Bean
+    public BlockRenderer listRenderer() {
+        return renderer("list", 1, (data, html) -> list(data.path("style").asText(), data.path("items"), html));
+    }
+
+    @Bean
+    public BlockRenderer imageRenderer() {
+        return renderer("image", 1, (data, html) -> {
+            String src = url(data.path("file").path("url").asText(data.path("url").asText(null)));
+            if (src == null) {
+                return;
+            }
+            String caption = data.path("caption").asText("");
+            html.append("<figure class=\"image");
+            if (data.path("withBorder").asBoolean()) {
+                html.append(" image--bordered");
+            }
+            if (data.path("withBackground").asBoolean()) {
+                html.append(" image--background");
+            }
+            if (data.path("stretched").asBoolean()) {
+                html.append(" image--stretched");
+            }
+            html.append("\"><img src=\"").append(src).append("\" alt=\"").append(plain(caption))
+                    .append("\" loading=\"lazy\">");
+            if (!caption.isBlank()) {
+                html.append("<figcaption>").append(inline(caption)).append("</figcaption>");
+            }
+            html.append("</figure>");
+        });
+    }
+
+    @Bean
+    public BlockRenderer codeRenderer() {
+        return renderer("code", 1, (data, html) ->
+                html.append("<pre><code>").append(escape(data.path("code").asText())).append("</code></pre>"));
+    }
+
+    @Bean
+    public BlockRenderer quoteRenderer() {
+        return renderer("quote", 1, (data, html) -> {
+            html.append("<blockquote><p>").append(inline(data.path("text").asText())).append("</p>");
+            String caption = data.path("caption").asText("");
+            if (!caption.isBlank()) {
+                html.append("<cite>").append(inline(caption)).append("</cite>");
+            }
+            html.append("</blockquote>");
+        });
+    }
+
+    @Bean
+    public BlockRenderer linkRenderer() {
+        return renderer("linkTool", 1, (data, html) -> {
+            String href = url(data.path("link").asText(null));
+            if (href == null) {
+                return;
+            }
+            JsonNode meta = data.path("meta");
+            String title = meta.path("title").asText("");
+            html.append("<a class=\"link\" href=\"").append(href).append("\" rel=\"nofollow noopener\">")
+                    .append(title.isBlank() ? href : escape(title)).append("</a>");
+            String description = meta.path("description").asText("");
+            if (!description.isBlank()) {
+                html.append("<p class=\"link__description\">").append(escape(description)).append("</p>");
+            }
+        });
+    }
+
+    @Bean
+    public BlockRenderer delimiterRenderer() {
+        return renderer("delimiter", 1, (data, html) -> html.append("<hr>"));
+    }
+
+    // Lists come as plain strings (list 1.x) or as { content, items } with nested lists (2.x)
+    private static void list(String style, JsonNode items, StringBuilder html) {
+        String tag = "ordered".equals(style) ? "ol" : "ul";
+        html.append('<').append(tag).append('>');
+        for (JsonNode item : items) {
+            html.append("<li>");
+            if (item.isObject()) {
+                html.append(inline(item.path("content").asText()));
+                if (item.path("items").size() > 0) {
+                    list(style, item.path("items"), html);
+                }
+            } else {
+                html.append(inline(item.asText()));
+            }
+            html.append("</li>");
+        }
+        html.append("</").append(tag).append('>');
+    }
+
+    private static BlockRenderer renderer(String type, int version, BiConsumer<JsonNode, StringBuilder> render) {
+        return new BlockRenderer() {
+            @Override
+            public String type() {
+                return type;
+            }
+
+            @Override
+            public int version() {
+                return version;
+            }
+
+            @Override
+            public void render(JsonNode data, StringBuilder html) {
+                render.accept(data, html);
+            }
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.portfolio.cms.config;
+
+import com.portfolio.cms.Service.CompressionStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CompressionConfig {
+
+    @Bean
+    public FilterRegistrationBean<ContentCompressionFilter> contentCompressionFilter(
+            CompressionStats stats,
+            @Value("${content.compression.min-bytes:1024}") int minBytes) {
+        FilterRegistrationBean<ContentCompressionFilter> registration =
+                new FilterRegistrationBean<>(new ContentCompressionFilter(stats, minBytes));
+        registration.addUrlPatterns("/api/content/*");
+        return registration;
+    }
+}
@@ -0,0 +1,49 @@
+package com.portfolio.cms.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves bodies stored in the old content.data column into content_body. Copies a
+ * range of ids at a time and clears the old column behind it, so it can be stopped
+ * and resumed. Once it has run, content.data is unused and can be dropped by hand.
+ */
+@Component
+public class ContentBodyMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Only injected so this runs after Hibernate has created content_body
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void migrate() {
+        Integer legacyColumn = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns " +
+                        "WHERE table_schema = DATABASE() AND table_name = 'content' AND column_name = 'data'",
+                Integer.class);
+        if (legacyColumn == null || legacyColumn == 0) {
+            return;
+        }
+
+        Integer maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM content WHERE data IS NOT NULL", Integer.class);
+        if (maxId == null) {
+            return;
+        }
+        for (int from = 0; from <= maxId; from += BATCH_SIZE) {
+            int to = from + BATCH_SIZE - 1;
+            // Posts edited since the split already have a body row; it is newer than the old column
+            jdbcTemplate.update("INSERT INTO content_body (content_id, data) " +
+                    "SELECT c.id, c.data FROM content c LEFT JOIN content_body b ON b.content_id = c.id " +
+                    "WHERE c.id BETWEEN ? AND ? AND c.data IS NOT NULL AND b.content_id IS NULL", from, to);
+            jdbcTemplate.update("UPDATE content SET data = NULL WHERE id BETWEEN ? AND ?", from, to);
+        }
+    }
+}
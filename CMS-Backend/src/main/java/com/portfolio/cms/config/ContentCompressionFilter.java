@@ -0,0 +1,97 @@
+package com.portfolio.cms.config;
+
+import com.portfolio.cms.Service.CompressionStats;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Gzips JSON responses from the content API when the client accepts it and the body
+ * is large enough to be worth it. Responses that already carry a Content-Encoding
+ * (the pre-compressed cache hits) pass through untouched. Every response varies by
+ * Accept-Encoding, compressed or not, so shared caches keep the variants apart.
+ */
+public class ContentCompressionFilter extends OncePerRequestFilter {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final CompressionStats stats;
+    private final int minBytes;
+
+    public ContentCompressionFilter(CompressionStats stats, int minBytes) {
+        this.stats = stats;
+        this.minBytes = minBytes;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // Set before the chain runs, while the headers can still change
+        varyByAcceptEncoding(response);
+        // The export streams asynchronously and compresses itself with ?gzip=true
+        if (request.getRequestURI().endsWith("/export")
+                || !HttpCompression.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+
+        byte[] body = wrapper.getContentAsByteArray();
+        if (!isCompressible(wrapper)) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        if (body.length < minBytes) {
+            stats.recordBelowThreshold();
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        long cpuStart = cpuTime();
+        byte[] gzip = HttpCompression.gzip(body);
+        stats.recordCompressed(body.length, gzip.length, cpuTime() - cpuStart);
+
+        // A strong ETag names exact bytes; the compressed body is only weakly equal to it
+        String etag = response.getHeader(HttpHeaders.ETAG);
+        if (etag != null && !etag.startsWith("W/")) {
+            response.setHeader(HttpHeaders.ETAG, "W/" + etag);
+        }
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        response.setContentLength(gzip.length);
+        wrapper.resetBuffer();
+        response.getOutputStream().write(gzip);
+    }
+
+    private static void varyByAcceptEncoding(HttpServletResponse response) {
+        for (String vary : response.getHeaders(HttpHeaders.VARY)) {
+            for (String name : vary.split(",")) {
+                if (name.trim().equalsIgnoreCase(HttpHeaders.ACCEPT_ENCODING) || name.trim().equals("*")) {
+                    return;
+                }
+            }
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    private static boolean isCompressible(HttpServletResponse response) {
+        String contentType = response.getContentType();
+        return response.getStatus() == HttpServletResponse.SC_OK
+                && response.getHeader(HttpHeaders.CONTENT_ENCODING) == null
+                && contentType != null
+                && (contentType.contains("json") || contentType.startsWith("text/"));
+    }
+
+    private static long cpuTime() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+}
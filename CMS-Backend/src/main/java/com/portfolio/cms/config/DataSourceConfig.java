@@ -0,0 +1,62 @@
+package com.portfolio.cms.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The primary pool is configured by spring.datasource as before. Each URL in
+ * content.datasource.replica-urls adds a read-only replica pool with the same
+ * credentials and pool settings; @Transactional(readOnly = true) work goes there.
+ * With no replicas configured everything stays on the primary.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(
+            HikariDataSource primaryDataSource,
+            @Value("${content.datasource.replica-urls:}") List<String> replicaUrls,
+            @Value("${content.datasource.replica-max-lag-seconds:5}") long maxLagSeconds,
+            @Value("${content.datasource.replica-lag-check-ms:5000}") long lagCheckIntervalMillis,
+            @Value("${content.datasource.replica-assume-caught-up:false}") boolean assumeCaughtUp) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            primaryDataSource.copyStateTo(replica);
+            replica.setJdbcUrl(url.trim());
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas, maxLagSeconds, lagCheckIntervalMillis,
+                assumeCaughtUp);
+    }
+
+    // What JPA and JdbcTemplate see
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
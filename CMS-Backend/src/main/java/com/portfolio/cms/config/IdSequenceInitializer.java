@@ -0,0 +1,39 @@
+package com.portfolio.cms.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the id sequence tables past the ids already in use. Rows created under the
+ * old AUTO strategy (hibernate_sequence, or a fresh content_seq/user_seq created by
+ * ddl-auto) would otherwise be handed out again by the block allocator.
+ * Runs once the schema is up to date and before the web server accepts requests.
+ */
+@Component
+public class IdSequenceInitializer {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Only injected so this runs after Hibernate has created or updated the tables
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void initialize() {
+        advancePastExistingIds("content_seq", "content");
+        advancePastExistingIds("user_seq", "`user`");
+    }
+
+    private void advancePastExistingIds(String sequenceTable, String entityTable) {
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + sequenceTable, Integer.class);
+        if (rows == null || rows == 0) {
+            jdbcTemplate.update("INSERT INTO " + sequenceTable + " (next_val) VALUES (1)");
+        }
+        jdbcTemplate.update("UPDATE " + sequenceTable + " SET next_val = GREATEST(next_val, " +
+                "(SELECT COALESCE(MAX(id), 0) + 1 FROM " + entityTable + "))");
+    }
+}
@@ -1,14 +1,17 @@
 package com.portfolio.cms.config;
 
+import com.portfolio.cms.Service.UserStateCache;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -16,10 +19,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
@@ -30,6 +30,13 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private UserStateCache userStateCache;
+
+    // Off: load the user from the database on every request, as before
+    @Value("${security.jwt.stateless:true}")
+    private boolean stateless;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
@@ -40,27 +47,45 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             jwt = authHeader.substring(7);
-            if (jwtUtil.validateToken(jwt)) {
-                username = jwtUtil.extractUsername(jwt);
+            Claims claims = jwtUtil.verifiedClaims(jwt);
+            if (claims != null) {
+                username = claims.getSubject();
 
                 // If token is valid and we have a username and no authentication set yet
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                    UserDetails userDetails = stateless
+                            ? fromClaims(username)
+                            : userDetailsService.loadUserByUsername(username);
 
-                    // Create authentication token with user details and authorities
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(
-                                    userDetails,
-                                    null,
-                                    userDetails.getAuthorities()
-                            );
+                    if (userDetails != null) {
+                        // Create authentication token with user details and authorities
+                        UsernamePasswordAuthenticationToken authToken =
+                                new UsernamePasswordAuthenticationToken(
+                                        userDetails,
+                                        null,
+                                        userDetails.getAuthorities()
+                                );
 
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                        SecurityContextHolder.getContext().setAuthentication(authToken);
+                    }
                 }
             }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * The principal from a verified token, without loading the user. Roles come from the
+     * user-state cache rather than the roles claim, so a grant or a revocation takes effect
+     * within the cache TTL without logging in again. Null when the account no longer exists.
+     */
+    private UserDetails fromClaims(String username) {
+        List<SimpleGrantedAuthority> current = userStateCache.authorities(username);
+        if (current == null) {
+            return null;
+        }
+        return new User(username, "", current);
+    }
 }
@@ -56,6 +56,15 @@ public class JwtUtil {
                 .getBody();
     }
 
+    // Verifies and parses in one go; null when the token is invalid or expired
+    public Claims verifiedClaims(String token) {
+        try {
+            return extractAllClaims(token);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     public boolean validateToken(String token) {
         try {
             Jwts.parser().setSigningKey(secret).parseClaimsJws(token);
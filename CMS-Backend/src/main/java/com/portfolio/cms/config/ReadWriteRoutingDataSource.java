@@ -0,0 +1,183 @@
+package com.portfolio.cms.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends connections for read-only transactions to the replica pools, round robin,
+ * and everything else to the primary. Replicas are checked in the background and
+ * taken out of rotation while they are unreachable or further behind the primary
+ * than maxLagSeconds; with none left, reads fall back to the primary.
+ * Needs a LazyConnectionDataSourceProxy in front, so the connection is only taken
+ * once the transaction's read-only flag is known.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    // MySQL 8.0.22+. A replica that cannot answer it, for lack of the REPLICATION CLIENT
+    // privilege or of replication itself, is left out unless assumeCaughtUp is set
+    private static final String LAG_QUERY = "SHOW REPLICA STATUS";
+    private static final String LAG_COLUMN = "Seconds_Behind_Source";
+
+    private final Pool primary;
+    private final List<Pool> replicas = new ArrayList<>();
+    private final long maxLagSeconds;
+    private final boolean assumeCaughtUp;
+    private final AtomicInteger next = new AtomicInteger();
+    private final LongAdder fallbacks = new LongAdder();
+    private final ScheduledExecutorService lagChecker;
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<? extends DataSource> replicas,
+                                      long maxLagSeconds, long lagCheckIntervalMillis, boolean assumeCaughtUp) {
+        this.primary = new Pool("primary", primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.add(new Pool("replica-" + (i + 1), replicas.get(i)));
+        }
+        this.maxLagSeconds = maxLagSeconds;
+        this.assumeCaughtUp = assumeCaughtUp;
+
+        if (this.replicas.isEmpty()) {
+            lagChecker = null;
+        } else {
+            lagChecker = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "replica-lag-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+            lagChecker.scheduleWithFixedDelay(this::checkReplicas, 0, lagCheckIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route().open(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route().open(username, password);
+    }
+
+    private Pool route() {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return primary;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Pool replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        fallbacks.increment();
+        return primary;
+    }
+
+    void checkReplicas() {
+        for (Pool replica : replicas) {
+            Long lag = lagOf(replica.dataSource);
+            replica.lagSeconds = lag;
+            replica.healthy = lag != null && lag <= maxLagSeconds;
+        }
+    }
+
+    // Seconds behind the primary, or null when the replica is down or its lag is unknown
+    private Long lagOf(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery(LAG_QUERY)) {
+                if (!rows.next()) {
+                    // Not a replica at all
+                    return assumeCaughtUp ? 0L : null;
+                }
+                long lag = rows.getLong(LAG_COLUMN);
+                return rows.wasNull() ? null : lag;
+            } catch (SQLException e) {
+                return assumeCaughtUp && connection.isValid(1) ? 0L : null;
+            }
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxLagSeconds", maxLagSeconds);
+        stats.put("readFallbacksToPrimary", fallbacks.sum());
+        List<Map<String, Object>> pools = new ArrayList<>();
+        pools.add(primary.getStats());
+        for (Pool replica : replicas) {
+            pools.add(replica.getStats());
+        }
+        stats.put("pools", pools);
+        return stats;
+    }
+
+    @Override
+    public void destroy() {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+        for (Pool pool : replicas) {
+            if (pool.dataSource instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        }
+    }
+
+    private static final class Pool {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final LongAdder connections = new LongAdder();
+        private volatile boolean healthy;
+        private volatile Long lagSeconds;
+
+        private Pool(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        private Connection open(String username, String password) throws SQLException {
+            connections.increment();
+            return username == null
+                    ? dataSource.getConnection()
+                    : dataSource.getConnection(username, password);
+        }
+
+        private Map<String, Object> getStats() {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("name", name);
+            stats.put("connectionsHandedOut", connections.sum());
+            if (!"primary".equals(name)) {
+                stats.put("healthy", healthy);
+                stats.put("lagSeconds", lagSeconds);
+            }
+            if (dataSource instanceof HikariDataSource hikari && hikari.getHikariPoolMXBean() != null) {
+                HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+                stats.put("active", pool.getActiveConnections());
+                stats.put("idle", pool.getIdleConnections());
+                stats.put("total", pool.getTotalConnections());
+                stats.put("waiting", pool.getThreadsAwaitingConnection());
+            }
+            return stats;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.portfolio.cms.config;
+
+import com.portfolio.cms.Service.ContentSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+public class SnapshotConfig {
+
+    // Not registered while snapshots are off, so /snapshot/** falls through to a 404
+    @Bean
+    public ServletRegistrationBean<SnapshotFileServlet> snapshotFileServlet(
+            ContentSnapshot contentSnapshot,
+            @Value("${content.snapshot.sendfile-min-bytes:49152}") long sendfileMinBytes) {
+        Path root = contentSnapshot.isEnabled() ? contentSnapshot.getRoot() : Path.of(".");
+        ServletRegistrationBean<SnapshotFileServlet> registration =
+                new ServletRegistrationBean<>(new SnapshotFileServlet(root, sendfileMinBytes), "/snapshot/*");
+        registration.setName("snapshotFileServlet");
+        registration.setEnabled(contentSnapshot.isEnabled());
+        return registration;
+    }
+}
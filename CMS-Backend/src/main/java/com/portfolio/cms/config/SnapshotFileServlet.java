@@ -0,0 +1,262 @@
+package com.portfolio.cms.config;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves the static snapshot (see ContentSnapshot) under /snapshot/ without Spring MVC and
+ * without reading files onto the heap. On Tomcat, bodies of at least sendfileMinBytes are
+ * handed to the connector's sendfile, which moves them from the page cache to the socket;
+ * smaller ones, and other containers, go through FileChannel.transferTo into the response.
+ * <p>
+ * Handles HEAD, conditional GETs, a single byte range (with If-Range) and the .gz twins the
+ * snapshot writes. Validators come from the file's size and modification time, which the
+ * snapshot only changes when the bytes do, so answering a request never reads or hashes a file.
+ */
+public class SnapshotFileServlet extends HttpServlet {
+
+    // Request attributes Tomcat's connector reads to send a file itself (see its DefaultServlet)
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final Range UNSATISFIABLE = new Range(-1, -1);
+
+    private final Path root;
+    private final long sendfileMinBytes;
+
+    public SnapshotFileServlet(Path root, long sendfileMinBytes) {
+        this.root = root.toAbsolutePath().normalize();
+        this.sendfileMinBytes = sendfileMinBytes;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serve(request, response, true);
+    }
+
+    @Override
+    protected void doHead(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serve(request, response, false);
+    }
+
+    private void serve(HttpServletRequest request, HttpServletResponse response, boolean writeBody)
+            throws IOException {
+        Path file = resolve(request.getPathInfo());
+        BasicFileAttributes attributes = file == null ? null : attributes(file);
+        if (attributes == null || !attributes.isRegularFile()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        // Ranges are only offered on the plain file; the .gz twin answers everything else
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        Path body = file;
+        boolean gzip = false;
+        if (rangeHeader == null && HttpCompression.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            Path twin = file.resolveSibling(file.getFileName() + ".gz");
+            BasicFileAttributes twinAttributes = attributes(twin);
+            if (twinAttributes != null && twinAttributes.isRegularFile()) {
+                body = twin;
+                attributes = twinAttributes;
+                gzip = true;
+            }
+        }
+
+        String etag = etag(attributes, gzip);
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        // Posts change under the same name, so caches revalidate, which is a cheap 304
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(contentType(file));
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        if (notModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long length = attributes.size();
+        long start = 0;
+        long end = length;
+        if (rangeHeader != null && ifRangeHolds(request, etag, lastModified)) {
+            Range range = parseRange(rangeHeader, length);
+            if (range == UNSATISFIABLE) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (range != null) {
+                start = range.start();
+                end = range.end();
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+            }
+        }
+        response.setContentLengthLong(end - start);
+        if (writeBody && end > start) {
+            send(request, response, body, start, end);
+        }
+    }
+
+    private void send(HttpServletRequest request, HttpServletResponse response, Path body, long start, long end)
+            throws IOException {
+        if (end - start >= sendfileMinBytes && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, body.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(body, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, out);
+                if (sent <= 0) {
+                    // Shorter than when it was stat'ed; the client sees a truncated body and retries
+                    break;
+                }
+                position += sent;
+            }
+        }
+    }
+
+    // Null for anything outside the root or hidden, which includes files still being written
+    private Path resolve(String pathInfo) {
+        if (pathInfo == null || pathInfo.length() < 2) {
+            return null;
+        }
+        Path file = root.resolve(pathInfo.substring(1)).normalize();
+        if (!file.startsWith(root) || file.equals(root)) {
+            return null;
+        }
+        for (Path part : root.relativize(file)) {
+            if (part.toString().startsWith(".")) {
+                return null;
+            }
+        }
+        return file;
+    }
+
+    private static BasicFileAttributes attributes(Path file) throws IOException {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    static String etag(BasicFileAttributes attributes, boolean gzip) {
+        return "\"" + Long.toHexString(attributes.size()) + "-"
+                + Long.toHexString(attributes.lastModifiedTime().to(TimeUnit.MICROSECONDS))
+                + (gzip ? "-gz" : "") + "\"";
+    }
+
+    private static String contentType(Path file) {
+        String name = file.getFileName().toString();
+        if (name.endsWith(".json")) {
+            return "application/json";
+        }
+        if (name.endsWith(".html")) {
+            return "text/html;charset=UTF-8";
+        }
+        return "application/octet-stream";
+    }
+
+    // If-None-Match wins over If-Modified-Since, as in RFC 9110
+    private static boolean notModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long since = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return since >= 0 && lastModified / 1000 <= since / 1000;
+    }
+
+    // A range applies only to the representation the client already has part of
+    private static boolean ifRangeHolds(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        long date = dateHeader(request, HttpHeaders.IF_RANGE);
+        return date >= 0 && date / 1000 == lastModified / 1000;
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * One "bytes=" range as [start, end), UNSATISFIABLE when it starts past the end, or null
+     * when the header is malformed or asks for several ranges, in which case the whole file
+     * is sent, as RFC 9110 allows.
+     */
+    static Range parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            if (dash == 0) {
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0 || length == 0) {
+                    return UNSATISFIABLE;
+                }
+                return new Range(Math.max(0, length - suffix), length);
+            }
+            long start = Long.parseLong(spec.substring(0, dash));
+            String last = spec.substring(dash + 1);
+            long end = last.isEmpty() ? length - 1 : Long.parseLong(last);
+            if (start < 0 || end < start) {
+                return null;
+            }
+            if (start >= length) {
+                return UNSATISFIABLE;
+            }
+            return new Range(start, Math.min(end, length - 1) + 1);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    record Range(long start, long end) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.portfolio.benchmark.ids;
+
+import com.portfolio.cms.Model.Content;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+
+import java.time.LocalDateTime;
+
+// The columns an insert into content writes, minus the author, once per id generator that
+// IdGenerationBenchmark compares. Outside com.portfolio.cms, so the entity scan of every other
+// JPA test leaves these tables out
+@MappedSuperclass
+public abstract class BenchmarkRow {
+
+    private String title = "Benchmark post";
+    private String excerpt = "An excerpt of about the usual length for a post in the list";
+    private LocalDateTime createdAt = LocalDateTime.now();
+    private long version;
+
+    @Entity
+    @Table(name = "bench_auto_id")
+    public static class AutoId extends BenchmarkRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.AUTO)
+        private Integer id;
+    }
+
+    @Entity
+    @Table(name = "bench_table_id")
+    public static class TableId extends BenchmarkRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.TABLE, generator = "bench_table_id")
+        @TableGenerator(name = "bench_table_id", table = "bench_id_table", allocationSize = 1)
+        private Integer id;
+    }
+
+    @Entity
+    @Table(name = "bench_pooled_lo_id")
+    public static class PooledLoId extends BenchmarkRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bench_pooled_lo_id")
+        @SequenceGenerator(name = "bench_pooled_lo_id", sequenceName = "bench_pooled_lo_seq",
+                allocationSize = Content.ID_BLOCK_SIZE)
+        private Integer id;
+    }
+}
@@ -0,0 +1,217 @@
+package com.portfolio.cms.Dao;
+
+import com.portfolio.benchmark.body.InlineBodyPost;
+import com.portfolio.cms.Model.Content;
+import com.portfolio.cms.Model.ContentBody;
+import com.portfolio.cms.Model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latency of the post write paths with the body inline in the content row, as before, and
+ * split out into content_body, as now. Each operation is one transaction doing what
+ * ContentService does: load the post for the author check, then write:
+ * <pre>
+ *   update title  a metadata edit that leaves the body alone
+ *   update body   an edit that replaces the body
+ *   delete        the post and its body
+ * </pre>
+ * Bodies are BODY_BYTES of EditorJS JSON. Mean, p50 and p99 go to the test report. Not part
+ * of the normal build (the name does not end in Tests); run it with
+ * <pre>
+ *   mvn test -Dtest=ContentBodyBenchmark -Dsurefire.failIfNoSpecifiedTests=false
+ * </pre>
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bodybench;MODE=MySQL;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ContentBodyBenchmark {
+
+    private static final int POSTS = 2000;
+    private static final int BODY_BYTES = 50 * 1024;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ContentDao contentDao;
+
+    @Autowired
+    private ContentBodyDao contentBodyDao;
+
+    @Autowired
+    private AdminDao adminDao;
+
+    // The application's entities plus the inline layout, which lives apart so no other test maps it
+    @TestConfiguration
+    @EntityScan(basePackageClasses = {Content.class, InlineBodyPost.class})
+    static class Entities {
+    }
+
+    private TransactionTemplate transaction;
+    private User author;
+    private String body;
+    private String editedBody;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        author = new User();
+        author.setUsername("author");
+        author.setEmail("author" + System.nanoTime() + "@example.com");
+        author = adminDao.save(author);
+
+        StringBuilder blocks = new StringBuilder("{\"time\":1,\"blocks\":[");
+        while (blocks.length() < BODY_BYTES) {
+            blocks.append("{\"type\":\"paragraph\",\"data\":{\"text\":\"Lorem ipsum dolor sit amet, ")
+                    .append(blocks.length()).append("\"}},");
+        }
+        body = blocks.append("{\"type\":\"delimiter\",\"data\":{}}],\"version\":\"2.28.2\"}").toString();
+        editedBody = body.replace("Lorem", "Edited");
+    }
+
+    @Test
+    void compareInlineAndSplitBodies(TestReporter reporter) {
+        List<Integer> inline = createInline();
+        report(reporter, "inline update title", inline, id -> transaction.executeWithoutResult(status -> {
+            InlineBodyPost post = loadInline(id);
+            post.setTitle("Edited title");
+            post.setUpdatedAt(LocalDateTime.now());
+        }));
+        assertThat(count("SELECT COUNT(p) FROM InlineBodyPost p WHERE p.title = 'Edited title'")).isEqualTo(POSTS);
+        report(reporter, "inline update body", inline, id -> transaction.executeWithoutResult(status -> {
+            InlineBodyPost post = loadInline(id);
+            post.setData(editedBody);
+            post.setUpdatedAt(LocalDateTime.now());
+        }));
+        assertThat(count("SELECT COUNT(p) FROM InlineBodyPost p WHERE p.data LIKE '%Edited%'")).isEqualTo(POSTS);
+        report(reporter, "inline delete", inline, id -> transaction.executeWithoutResult(status ->
+                entityManager.remove(loadInline(id))));
+        assertThat(count("SELECT COUNT(p) FROM InlineBodyPost p")).isZero();
+
+        List<Integer> split = createSplit();
+        report(reporter, "split update title", split, id -> transaction.executeWithoutResult(status -> {
+            Content content = loadSplit(id);
+            contentDao.updateIfVersion(id, content.getVersion(), "Edited title", content.getExcerpt(),
+                    content.getImage(), LocalDateTime.now());
+        }));
+        assertThat(count("SELECT COUNT(c) FROM Content c WHERE c.title = 'Edited title'")).isEqualTo(POSTS);
+        report(reporter, "split update body", split, id -> transaction.executeWithoutResult(status -> {
+            Content content = loadSplit(id);
+            contentDao.updateIfVersion(id, content.getVersion(), content.getTitle(), content.getExcerpt(),
+                    content.getImage(), LocalDateTime.now());
+            contentBodyDao.updateData(id, editedBody, null, null);
+        }));
+        assertThat(count("SELECT COUNT(b) FROM ContentBody b WHERE b.data LIKE '%Edited%'")).isEqualTo(POSTS);
+        // The body row goes with the post through its ON DELETE CASCADE foreign key
+        report(reporter, "split delete", split, id -> transaction.executeWithoutResult(status ->
+                contentDao.delete(loadSplit(id))));
+        assertThat(count("SELECT COUNT(c) FROM Content c")).isZero();
+        assertThat(count("SELECT COUNT(b) FROM ContentBody b")).isZero();
+    }
+
+    // Checks each operation did its work on every post, so a faster number is not a skipped write
+    private long count(String query) {
+        return transaction.execute(status -> entityManager.createQuery(query, Long.class).getSingleResult());
+    }
+
+    private InlineBodyPost loadInline(Integer id) {
+        InlineBodyPost post = entityManager.find(InlineBodyPost.class, id);
+        checkAuthor(post.getAuthor());
+        return post;
+    }
+
+    private Content loadSplit(Integer id) {
+        Content content = contentDao.findById(id).orElseThrow();
+        checkAuthor(content.getAuthor());
+        return content;
+    }
+
+    // The authorization check both versions of updateContent and deleteContent make
+    private void checkAuthor(User postAuthor) {
+        if (!postAuthor.getId().equals(author.getId())) {
+            throw new IllegalStateException("Not the author");
+        }
+    }
+
+    private List<Integer> createInline() {
+        List<Integer> ids = new ArrayList<>(POSTS);
+        for (int i = 0; i < POSTS; i++) {
+            ids.add(transaction.execute(status -> {
+                InlineBodyPost post = new InlineBodyPost();
+                post.setTitle("Post");
+                post.setCreatedAt(LocalDateTime.now());
+                post.setAuthor(entityManager.getReference(User.class, author.getId()));
+                post.setData(body);
+                entityManager.persist(post);
+                return post.getId();
+            }));
+        }
+        return ids;
+    }
+
+    private List<Integer> createSplit() {
+        List<Integer> ids = new ArrayList<>(POSTS);
+        for (int i = 0; i < POSTS; i++) {
+            ids.add(transaction.execute(status -> {
+                Content content = new Content();
+                content.setTitle("Post");
+                content.setCreatedAt(LocalDateTime.now());
+                content.setAuthor(entityManager.getReference(User.class, author.getId()));
+                content = contentDao.save(content);
+                contentBodyDao.save(new ContentBody(content, body, null, null));
+                return content.getId();
+            }));
+        }
+        return ids;
+    }
+
+    // The first tenth warms up and is not counted
+    private static void report(TestReporter reporter, String operation, List<Integer> ids, IntConsumer run) {
+        int warmup = ids.size() / 10;
+        long[] nanos = new long[ids.size() - warmup];
+        for (int i = 0; i < ids.size(); i++) {
+            long started = System.nanoTime();
+            run.accept(ids.get(i));
+            if (i >= warmup) {
+                nanos[i - warmup] = System.nanoTime() - started;
+            }
+        }
+        Arrays.sort(nanos);
+        reporter.publishEntry(operation, String.format("mean %.0f us, p50 %.0f us, p99 %.0f us",
+                Arrays.stream(nanos).average().orElse(0) / 1000,
+                nanos[nanos.length / 2] / 1000.0,
+                nanos[nanos.length * 99 / 100] / 1000.0));
+    }
+}
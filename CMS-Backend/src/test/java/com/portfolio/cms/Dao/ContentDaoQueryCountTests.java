@@ -0,0 +1,175 @@
+package com.portfolio.cms.Dao;
+
+import com.portfolio.cms.Model.Content;
+import com.portfolio.cms.Model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Guards the content read paths against N+1 selects: each must cost the same
+// number of statements no matter how many posts or authors it returns
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cms;MODE=MySQL;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ContentDaoQueryCountTests {
+
+    private static final int AUTHORS = 10;
+    private static final int POSTS_PER_AUTHOR = 10;
+
+    @Autowired
+    private ContentDao contentDao;
+
+    @Autowired
+    private AdminDao adminDao;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<User> authors = new ArrayList<>();
+    private Integer somePostId;
+
+    @BeforeEach
+    void createPosts() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int a = 0; a < AUTHORS; a++) {
+            User author = new User();
+            author.setUsername("author" + a);
+            author.setEmail("author" + a + "@example.com");
+            entityManager.persist(author);
+            authors.add(author);
+
+            for (int p = 0; p < POSTS_PER_AUTHOR; p++) {
+                Content content = new Content();
+                content.setTitle("Post " + a + "-" + p);
+                content.setAuthor(author);
+                createdAt = createdAt.plusMinutes(1);
+                content.setCreatedAt(createdAt);
+                content.setUpdatedAt(createdAt);
+                entityManager.persist(content);
+                somePostId = content.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics().clear();
+    }
+
+    @Test
+    void summaryListsUseOneStatement() {
+        List<ContentSummaryView> all = contentDao.findAllSummaries();
+        all.forEach(ContentSummaryView::getAuthorUsername);
+
+        assertThat(all).hasSize(AUTHORS * POSTS_PER_AUTHOR);
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void keysetPagesUseOneStatement() {
+        List<ContentSummaryView> first = contentDao.findFirstPage(PageRequest.of(0, 21));
+        ContentSummaryView last = first.get(first.size() - 1);
+        contentDao.findPageAfter(last.getCreatedAt(), last.getId(), PageRequest.of(0, 21));
+
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void authorFeedUsesOneStatement() {
+        List<ContentSummaryView> posts = contentDao.findSummariesByAuthorId(authors.get(0).getId());
+
+        assertThat(posts).hasSize(POSTS_PER_AUTHOR);
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void authorFeedPagesUseOneStatementEach() {
+        Integer authorId = authors.get(0).getId();
+        List<ContentSummaryView> first = contentDao.findAuthorFirstPage(authorId, PageRequest.of(0, 4));
+        ContentSummaryView last = first.get(first.size() - 1);
+        List<ContentSummaryView> second = contentDao.findAuthorPageAfter(authorId, last.getCreatedAt(), last.getId(),
+                PageRequest.of(0, 4));
+
+        assertThat(first).hasSize(4).allMatch(row -> row.getAuthorId().equals(authorId));
+        assertThat(second).hasSize(4).allMatch(row -> row.getCreatedAt().isBefore(last.getCreatedAt()));
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void statsAreCountedInTheDatabase() {
+        List<AuthorContentCountView> byAuthor = contentDao.countByAuthor();
+        List<MonthContentCountView> byMonth = contentDao.countByMonth();
+
+        assertThat(byAuthor).hasSize(AUTHORS).allMatch(row -> row.getPosts() == POSTS_PER_AUTHOR);
+        assertThat(byMonth).singleElement().satisfies(row -> {
+            assertThat(row.getYear()).isEqualTo(2024);
+            assertThat(row.getMonth()).isEqualTo(1);
+            assertThat(row.getPosts()).isEqualTo(AUTHORS * POSTS_PER_AUTHOR);
+        });
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void versionedEditIsOneConditionalStatement() {
+        LocalDateTime editedAt = LocalDateTime.of(2024, 2, 1, 0, 0);
+
+        assertThat(contentDao.updateIfVersion(somePostId, 0, "Edited", null, null, editedAt)).isEqualTo(1);
+        assertThat(contentDao.updateIfVersion(somePostId, 0, "Stale", null, null, editedAt)).isZero();
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(2);
+
+        assertThat(contentDao.findVersionById(somePostId).get().getVersion()).isEqualTo(1);
+        assertThat(contentDao.findById(somePostId).get().getTitle()).isEqualTo("Edited");
+    }
+
+    @Test
+    void entityQueriesFetchAuthorsInTheSameStatement() {
+        List<Content> posts = contentDao.findByTitleContainingIgnoreCase("post");
+        posts.forEach(content -> content.getAuthor().getUsername());
+
+        assertThat(posts).hasSize(AUTHORS * POSTS_PER_AUTHOR);
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void singlePostFetchesAuthorInTheSameStatement() {
+        Optional<Content> content = contentDao.findById(somePostId);
+        content.get().getAuthor().getUsername();
+
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void userListFetchesPostsInTheSameStatement() {
+        List<User> users = adminDao.findAll();
+        users.forEach(user -> user.getContents().size());
+
+        assertThat(users).hasSize(AUTHORS);
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
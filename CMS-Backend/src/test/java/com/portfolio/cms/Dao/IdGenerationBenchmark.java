@@ -0,0 +1,132 @@
+package com.portfolio.cms.Dao;
+
+import com.portfolio.benchmark.ids.BenchmarkRow;
+import com.portfolio.cms.Model.Content;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.sequence.NoSequenceSupport;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Insert throughput of 64 concurrent writers, one insert per transaction like createContent,
+ * under the id generators Content and User have had:
+ * <pre>
+ *   auto       @GeneratedValue(AUTO) with no generator, as both entities were mapped before
+ *   table      a shared id table handing out one id per round trip
+ *   pooled-lo  the content_seq mapping Content uses now, a block of Content.ID_BLOCK_SIZE at a time
+ * </pre>
+ * H2 runs with a dialect that has no sequences, so like on MySQL every generator falls back
+ * to a table. Inserts per second go to the test report. Not part of the normal build (the
+ * name does not end in Tests); run it with
+ * <pre>
+ *   mvn test -Dtest=IdGenerationBenchmark -Dsurefire.failIfNoSpecifiedTests=false
+ * </pre>
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:idbench;MODE=MySQL;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        // A table generator fetches ids on a second connection while the insert holds the first
+        "spring.datasource.hikari.maximum-pool-size=" + (2 * IdGenerationBenchmark.WRITERS + 2),
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.dialect=com.portfolio.cms.Dao.IdGenerationBenchmark$NoSequenceH2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdGenerationBenchmark {
+
+    static final int WRITERS = 64;
+    private static final int WARMUP_INSERTS_PER_WRITER = 50;
+    private static final int INSERTS_PER_WRITER = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // The application's entities plus the benchmark rows, which live apart so no other test maps them
+    @TestConfiguration
+    @EntityScan(basePackageClasses = {Content.class, BenchmarkRow.class})
+    static class Entities {
+    }
+
+    @Test
+    void compareIdGenerators(TestReporter reporter) throws Exception {
+        report(reporter, "auto", BenchmarkRow.AutoId.class, BenchmarkRow.AutoId::new);
+        report(reporter, "table", BenchmarkRow.TableId.class, BenchmarkRow.TableId::new);
+        report(reporter, "pooled-lo", BenchmarkRow.PooledLoId.class, BenchmarkRow.PooledLoId::new);
+    }
+
+    private <T extends BenchmarkRow> void report(TestReporter reporter, String name, Class<T> type,
+                                                 Supplier<T> newRow) throws Exception {
+        insert(newRow, WARMUP_INSERTS_PER_WRITER);
+        long started = System.nanoTime();
+        insert(newRow, INSERTS_PER_WRITER);
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        // Every insert got its own id, none failed or collided
+        long rows = new TransactionTemplate(transactionManager).execute(status -> entityManager
+                .createQuery("SELECT COUNT(r) FROM " + type.getSimpleName() + " r", Long.class).getSingleResult());
+        assertThat(rows).isEqualTo((long) WRITERS * (WARMUP_INSERTS_PER_WRITER + INSERTS_PER_WRITER));
+        reporter.publishEntry(name, String.format("%d writers, %.0f inserts/s",
+                WRITERS, WRITERS * INSERTS_PER_WRITER / seconds));
+    }
+
+    private void insert(Supplier<? extends BenchmarkRow> newRow, int perWriter) throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ExecutorService writers = Executors.newFixedThreadPool(WRITERS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>(WRITERS);
+            for (int w = 0; w < WRITERS; w++) {
+                futures.add(writers.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perWriter; i++) {
+                        transaction.executeWithoutResult(status -> entityManager.persist(newRow.get()));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            writers.shutdownNow();
+        }
+    }
+
+    // What MySQL offers Hibernate: no sequences, so they are emulated by tables
+    public static class NoSequenceH2Dialect extends H2Dialect {
+        @Override
+        public SequenceSupport getSequenceSupport() {
+            return NoSequenceSupport.INSTANCE;
+        }
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.portfolio.cms.Service;
+
+import com.portfolio.cms.Dao.AdminDao;
+import com.portfolio.cms.Dao.ContentDao;
+import com.portfolio.cms.Model.Content;
+import com.portfolio.cms.Model.ContentDataConverter;
+import com.portfolio.cms.Model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Outside a test transaction, so the migration thread sees the rows. Bodies go in through
+// JDBC: saved through the entity they would be compressed on the way in
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:compression;MODE=MySQL;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "content.data.compression.enabled=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ContentDataConverter.class, ContentDataCompressionMigration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ContentDataCompressionMigrationTests {
+
+    // More than two of the migration's batches
+    private static final int POSTS = 450;
+
+    @Autowired
+    private ContentDataCompressionMigration contentDataCompressionMigration;
+
+    @Autowired
+    private ContentDataConverter contentDataConverter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ContentDao contentDao;
+
+    @Autowired
+    private AdminDao adminDao;
+
+    @Test
+    void compressesEveryStoredBodyWithTheMarker() throws Exception {
+        User author = new User();
+        author.setUsername("author");
+        author.setEmail("author@example.com");
+        author = adminDao.save(author);
+
+        String blocks = "{\"type\":\"paragraph\",\"data\":{\"text\":\"Lorem ipsum dolor sit amet\"}},".repeat(20);
+        List<Integer> ids = new ArrayList<>();
+        List<Object[]> bodies = new ArrayList<>();
+        for (int i = 0; i < POSTS; i++) {
+            Integer id = save(author, "Post " + i);
+            ids.add(id);
+            bodies.add(new Object[]{id, "{\"blocks\":[" + blocks + "{\"text\":\"" + i + "\"}]}"});
+        }
+        // Below content.data.compression.min-bytes, so it stays as it is
+        Integer shortId = save(author, "Short");
+        bodies.add(new Object[]{shortId, "{\"blocks\":[]}"});
+        jdbcTemplate.batchUpdate("INSERT INTO content_body (content_id, data) VALUES (?, ?)", bodies);
+
+        contentDataCompressionMigration.start();
+        awaitCompressed();
+
+        for (int i = 0; i < POSTS; i++) {
+            String stored = storedData(ids.get(i));
+            assertThat(stored).startsWith(ContentDataConverter.MARKER);
+            assertThat(contentDataConverter.convertToEntityAttribute(stored)).isEqualTo(bodies.get(i)[1]);
+        }
+        assertThat(storedData(shortId)).isEqualTo("{\"blocks\":[]}");
+    }
+
+    private Integer save(User author, String title) {
+        Content content = new Content();
+        content.setTitle(title);
+        content.setAuthor(author);
+        content.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        content.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        return contentDao.save(content).getId();
+    }
+
+    private String storedData(Integer id) {
+        return jdbcTemplate.queryForObject("SELECT data FROM content_body WHERE content_id = ?", String.class, id);
+    }
+
+    private void awaitCompressed() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM content_body WHERE data LIKE ?",
+                Integer.class, ContentDataConverter.MARKER + "%") < POSTS) {
+            assertThat(System.currentTimeMillis()).as("rows compressed in time").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.portfolio.cms.Service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentDeltaTests {
+
+    // U+1F600 and U+1F601 share their high surrogate, so a naive prefix splits the pair
+    private static final String GRINNING = "\uD83D\uDE00";
+    private static final String BEAMING = "\uD83D\uDE01";
+
+    @Test
+    void roundTripsEmptyAndIdenticalBodies() {
+        assertThat(roundTrip("", "")).isEqualTo("0,0:");
+        assertThat(roundTrip("", "{\"blocks\":[]}")).isEqualTo("0,0:{\"blocks\":[]}");
+        assertThat(roundTrip("{\"blocks\":[]}", "")).isEqualTo("0,0:");
+        assertThat(roundTrip("{\"blocks\":[]}", "{\"blocks\":[]}")).isEqualTo("13,0:");
+    }
+
+    @Test
+    void keepsOnlyTheChangedMiddle() {
+        assertThat(roundTrip("hello world", "hello world!")).isEqualTo("11,0:!");
+        assertThat(roundTrip("hello world", "Xhello world")).isEqualTo("0,11:X");
+        assertThat(roundTrip("hello world", "hello there world")).isEqualTo("6,5:there ");
+        // Repeated characters could match on either side; the prefix takes them
+        assertThat(roundTrip("aa", "aaa")).isEqualTo("2,0:a");
+    }
+
+    @Test
+    void neverSplitsASurrogatePair() {
+        assertThat(roundTrip("a" + GRINNING + "b", "a" + BEAMING + "b")).isEqualTo("1,1:" + BEAMING);
+        assertThat(roundTrip(GRINNING, BEAMING)).isEqualTo("0,0:" + BEAMING);
+        assertThat(roundTrip("x" + GRINNING, "y" + GRINNING)).isEqualTo("0,2:y");
+        assertThat(roundTrip(GRINNING + GRINNING, GRINNING)).isEqualTo("2,0:");
+    }
+
+    private static String roundTrip(String from, String to) {
+        String delta = ContentDelta.encode(from, to);
+        assertThat(ContentDelta.apply(from, delta)).isEqualTo(to);
+        String replacement = delta.substring(delta.indexOf(':') + 1);
+        // codePoints() pairs surrogates up, so any left in the surrogate range stand alone
+        assertThat(replacement.codePoints()
+                .noneMatch(c -> c >= Character.MIN_SURROGATE && c <= Character.MAX_SURROGATE))
+                .as("lone surrogate in %s", delta).isTrue();
+        return delta;
+    }
+}
@@ -0,0 +1,118 @@
+package com.portfolio.cms.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.portfolio.cms.config.BlockRendererConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The rendered HTML is served as-is, so whatever a body contains must come out inert
+class ContentRendererTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ContentRenderer contentRenderer = renderer(objectMapper);
+
+    @Test
+    void stripsScriptsAndEventHandlers() {
+        assertThat(render("paragraph", data().put("text",
+                "Hi<script>alert(1)</script><img src=x onerror=\"alert(1)\"><b onclick=\"x()\">bold</b>")))
+                .isEqualTo("<p>Hi<b>bold</b></p>");
+        assertThat(render("header", data().put("level", 9).put("text",
+                "Title <i onmouseover=\"x()\">it</i><script>x</script>")))
+                .isEqualTo("<h6>Title <i>it</i></h6>");
+    }
+
+    @Test
+    void dropsJavascriptUrls() {
+        assertThat(render("paragraph", data().put("text",
+                "<a href=\"javascript:alert(1)\">x</a> <a href=\" JaVaScRiPt:alert(1)\">y</a>")))
+                .isEqualTo("<p><a rel=\"nofollow noopener\">x</a> <a rel=\"nofollow noopener\">y</a></p>");
+        ObjectNode image = data();
+        image.putObject("file").put("url", "javascript:alert(1)");
+        assertThat(render("image", image)).isEmpty();
+        ObjectNode link = data().put("link", "javascript:alert(1)");
+        link.putObject("meta").put("title", "x");
+        assertThat(render("linkTool", link)).isEmpty();
+    }
+
+    @Test
+    void enforcesRelOnEveryLink() {
+        assertThat(render("paragraph", data().put("text",
+                "<a href=\"https://example.com/?a=1&amp;b=2\" rel=\"opener\" target=\"_blank\">x</a> "
+                        + "<a href=\"mailto:me@example.com\">m</a>")))
+                .isEqualTo("<p><a href=\"https://example.com/?a=1&amp;b=2\" rel=\"nofollow noopener\">x</a> "
+                        + "<a href=\"mailto:me@example.com\" rel=\"nofollow noopener\">m</a></p>");
+        assertThat(render("quote", data().put("text", "Quote<script>x</script>")
+                .put("caption", "<a href=\"https://example.com\">Someone</a>")))
+                .isEqualTo("<blockquote><p>Quote</p>"
+                        + "<cite><a href=\"https://example.com\" rel=\"nofollow noopener\">Someone</a></cite></blockquote>");
+    }
+
+    @Test
+    void cleansListItemsAtEveryDepth() {
+        ObjectNode nested = data().put("style", "ordered");
+        ObjectNode item = nested.putArray("items").addObject().put("content", "one<script>x</script>");
+        item.putArray("items").addObject().put("content", "<img src=x onerror=y>two").putArray("items");
+        assertThat(render("list", nested)).isEqualTo("<ol><li>one<ol><li>two</li></ol></li></ol>");
+
+        ObjectNode flat = data().put("style", "unordered");
+        ArrayNode items = flat.putArray("items");
+        items.add("a & b").add("<u>c</u>");
+        assertThat(render("list", flat)).isEqualTo("<ul><li>a &amp; b</li><li><u>c</u></li></ul>");
+    }
+
+    @Test
+    void escapesImageAttributes() {
+        ObjectNode image = data().put("caption", "A \"cat\" <b>& dog</b><script>x</script>").put("withBorder", true);
+        image.putObject("file").put("url", "https://cdn.example.com/a.png?x=\"><script>alert(1)</script>");
+        assertThat(render("image", image)).isEqualTo("<figure class=\"image image--bordered\">"
+                + "<img src=\"https://cdn.example.com/a.png?x=&quot;&gt;&lt;script&gt;alert(1)&lt;/script&gt;\" "
+                + "alt=\"A &quot;cat&quot; &amp; dog\" loading=\"lazy\">"
+                + "<figcaption>A \"cat\" <b>&amp; dog</b></figcaption></figure>");
+    }
+
+    @Test
+    void escapesLinkToolTitleDescriptionAndHref() {
+        ObjectNode link = data().put("link", "https://example.com/?q=\"x\"");
+        link.putObject("meta").put("title", "<img src=x onerror=alert(1)>").put("description", "a & 'b' <script>");
+        assertThat(render("linkTool", link)).isEqualTo(
+                "<a class=\"link\" href=\"https://example.com/?q=&quot;x&quot;\" rel=\"nofollow noopener\">"
+                        + "&lt;img src=x onerror=alert(1)&gt;</a>"
+                        + "<p class=\"link__description\">a &amp; &#39;b&#39; &lt;script&gt;</p>");
+
+        ObjectNode untitled = data().put("link", "https://example.com/a&b");
+        untitled.putObject("meta");
+        assertThat(render("linkTool", untitled)).isEqualTo(
+                "<a class=\"link\" href=\"https://example.com/a&amp;b\" rel=\"nofollow noopener\">"
+                        + "https://example.com/a&amp;b</a>");
+    }
+
+    @Test
+    void escapesCodeAndBodiesThatAreNotJson() {
+        assertThat(render("code", data().put("code", "<script>alert('x')</script>")))
+                .isEqualTo("<pre><code>&lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt;</code></pre>");
+        assertThat(contentRenderer.render("<script>x</script> & text"))
+                .isEqualTo("<p>&lt;script&gt;x&lt;/script&gt; &amp; text</p>");
+    }
+
+    private ObjectNode data() {
+        return objectMapper.createObjectNode();
+    }
+
+    private String render(String type, ObjectNode data) {
+        ObjectNode document = objectMapper.createObjectNode();
+        document.putArray("blocks").addObject().put("type", type).set("data", data);
+        return contentRenderer.render(document.toString()).strip();
+    }
+
+    private static ContentRenderer renderer(ObjectMapper objectMapper) {
+        BlockRendererConfig config = new BlockRendererConfig();
+        return new ContentRenderer(List.of(config.paragraphRenderer(), config.headerRenderer(),
+                config.listRenderer(), config.imageRenderer(), config.codeRenderer(), config.quoteRenderer(),
+                config.linkRenderer(), config.delimiterRenderer()), objectMapper);
+    }
+}
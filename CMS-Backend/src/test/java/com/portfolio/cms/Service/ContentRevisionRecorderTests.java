@@ -0,0 +1,95 @@
+package com.portfolio.cms.Service;
+
+import com.portfolio.cms.Dao.AdminDao;
+import com.portfolio.cms.Dao.ContentDao;
+import com.portfolio.cms.Dao.ContentRevisionDao;
+import com.portfolio.cms.Model.Content;
+import com.portfolio.cms.Model.ContentRevision;
+import com.portfolio.cms.Model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Outside a test transaction, so record() hands each revision straight to the worker
+// and the worker's own transactions see the post
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:revisions;MODE=MySQL;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "content.revisions.snapshot-every=3"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ContentRevisionRecorder.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ContentRevisionRecorderTests {
+
+    private static final int REVISIONS = 7;
+
+    @Autowired
+    private ContentRevisionRecorder contentRevisionRecorder;
+
+    @Autowired
+    private ContentRevisionDao contentRevisionDao;
+
+    @Autowired
+    private ContentDao contentDao;
+
+    @Autowired
+    private AdminDao adminDao;
+
+    @Test
+    void reconstructsEveryRevisionAcrossSnapshots() throws Exception {
+        User author = new User();
+        author.setUsername("author");
+        author.setEmail("author@example.com");
+        author = adminDao.save(author);
+
+        Content content = new Content();
+        content.setTitle("Post");
+        content.setAuthor(author);
+        content.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        Integer id = contentDao.save(content).getId();
+
+        // Long enough that a one-word edit is stored as a delta
+        String blocks = "{\"type\":\"paragraph\",\"data\":{\"text\":\"Lorem ipsum dolor sit amet\"}},".repeat(10);
+        List<String> bodies = new ArrayList<>();
+        for (int i = 1; i <= REVISIONS; i++) {
+            String body = "{\"blocks\":[" + blocks + "{\"type\":\"paragraph\",\"data\":{\"text\":\"Edit " + i
+                    + "\"}}," + blocks.replace("Lorem", "Lorem" + i) + "]}";
+            bodies.add(body);
+            contentRevisionRecorder.record(id, author.getId(), "Post " + i, null, body, LocalDateTime.now());
+        }
+        awaitRevisions(id);
+
+        // A snapshot at 1, then two deltas before the chain is cut with the next one
+        for (int revision = 1; revision <= REVISIONS; revision++) {
+            ContentRevision stored = contentRevisionDao.findByContentIdAndRevision(id, revision).orElseThrow();
+            assertThat(stored.isSnapshot()).as("revision %d is a snapshot", revision)
+                    .isEqualTo(revision % 3 == 1);
+            assertThat(contentRevisionRecorder.reconstruct(id, revision)).contains(bodies.get(revision - 1));
+        }
+        assertThat(contentRevisionRecorder.reconstruct(id + 1, 1)).isEmpty();
+    }
+
+    private void awaitRevisions(Integer id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (contentRevisionDao.findFirstByContentIdOrderByRevisionDesc(id)
+                .map(ContentRevision::getRevision).orElse(0) < REVISIONS) {
+            assertThat(System.currentTimeMillis()).as("revisions written in time").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.portfolio.cms.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.cms.Dao.AdminDao;
+import com.portfolio.cms.Dao.ContentDao;
+import com.portfolio.cms.Model.Content;
+import com.portfolio.cms.Model.User;
+import com.portfolio.cms.config.BlockRendererConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Outside a test transaction, so flush() reads what the test saved. A list page that is
+// not rewritten keeps whatever the test put in its place
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:snapshot;MODE=MySQL;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "content.snapshot.html=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ContentSnapshot.class, ContentRenderer.class, BlockRendererConfig.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ContentSnapshotTests {
+
+    private static final int PAGE_SIZE = ContentService.DEFAULT_PAGE_SIZE;
+    private static final byte[] STALE = "stale".getBytes(StandardCharsets.UTF_8);
+
+    private static Path root;
+
+    @Autowired
+    private ContentSnapshot contentSnapshot;
+
+    @Autowired
+    private ContentDao contentDao;
+
+    @Autowired
+    private AdminDao adminDao;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User author;
+    private LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @DynamicPropertySource
+    static void snapshotDir(DynamicPropertyRegistry registry) throws IOException {
+        root = Files.createTempDirectory("snapshot");
+        registry.add("content.snapshot.dir", root::toString);
+    }
+
+    @AfterAll
+    static void deleteSnapshot() throws IOException {
+        FileSystemUtils.deleteRecursively(root);
+    }
+
+    @Test
+    void rewritesOnlyTheListPagesAChangeReaches() throws Exception {
+        author = new User();
+        author.setUsername("author");
+        author.setEmail("author@example.com");
+        author = adminDao.save(author);
+
+        // Newest first, two full pages and five posts on the third
+        List<Integer> newestFirst = new ArrayList<>();
+        for (int i = 0; i < 2 * PAGE_SIZE + 5; i++) {
+            newestFirst.add(0, post("Post " + i));
+        }
+        contentSnapshot.flush();
+        assertListing(newestFirst, 1);
+
+        // A title edit stays on its page, so the pages after it are left as they are
+        Files.write(page(3), STALE);
+        Content edited = contentDao.findById(newestFirst.get(3)).orElseThrow();
+        edited.setTitle("Edited");
+        contentDao.save(edited);
+        contentSnapshot.touch(edited.getId(), author.getId());
+        contentSnapshot.flush();
+        assertThat(readPage(1).path("items").get(3).path("title").asText()).isEqualTo("Edited");
+        assertThat(Files.readAllBytes(page(3))).isEqualTo(STALE);
+
+        // A new post moves every page along by one
+        newestFirst.add(0, post("Newest"));
+        contentSnapshot.flush();
+        assertListing(newestFirst, 1);
+
+        // Removing posts from page 2 leaves page 1 alone, and drops the last page and the link to it
+        List<Integer> deleted = new ArrayList<>(newestFirst.subList(PAGE_SIZE, PAGE_SIZE + 6));
+        for (Integer id : deleted) {
+            contentDao.deleteById(id);
+            contentSnapshot.touch(id, author.getId());
+        }
+        newestFirst.removeAll(deleted);
+        Files.write(page(1), STALE);
+        contentSnapshot.flush();
+        assertThat(Files.readAllBytes(page(1))).isEqualTo(STALE);
+        assertListing(newestFirst, 2);
+        assertThat(page(3)).doesNotExist();
+    }
+
+    private Integer post(String title) {
+        createdAt = createdAt.plusMinutes(1);
+        Content content = new Content();
+        content.setTitle(title);
+        content.setAuthor(author);
+        content.setCreatedAt(createdAt);
+        Integer id = contentDao.save(content).getId();
+        contentSnapshot.touch(id, author.getId());
+        return id;
+    }
+
+    // The pages from firstPage on hold these posts, and nothing follows the last one
+    private void assertListing(List<Integer> newestFirst, int firstPage) throws IOException {
+        int pages = (newestFirst.size() + PAGE_SIZE - 1) / PAGE_SIZE;
+        for (int page = firstPage; page <= pages; page++) {
+            JsonNode json = readPage(page);
+            List<Integer> ids = new ArrayList<>();
+            json.path("items").forEach(item -> ids.add(item.path("id").asInt()));
+            assertThat(ids).as("page %d", page)
+                    .isEqualTo(newestFirst.subList((page - 1) * PAGE_SIZE, Math.min(page * PAGE_SIZE, newestFirst.size())));
+            assertThat(json.hasNonNull("nextCursor")).as("page %d links on", page).isEqualTo(page < pages);
+        }
+        assertThat(page(pages + 1)).doesNotExist();
+    }
+
+    private JsonNode readPage(int page) throws IOException {
+        return objectMapper.readTree(page(page).toFile());
+    }
+
+    private static Path page(int page) {
+        return root.resolve("list").resolve(page + ".json");
+    }
+}
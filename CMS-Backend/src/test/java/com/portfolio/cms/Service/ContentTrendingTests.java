@@ -0,0 +1,113 @@
+package com.portfolio.cms.Service;
+
+import com.portfolio.cms.Dao.ContentDao;
+import com.portfolio.cms.Dao.ContentSummaryView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Views are recorded and rankings refreshed at explicit times; the background refresh never comes round
+class ContentTrendingTests {
+
+    // Viewed, but no longer in the database
+    private static final int DELETED = 99;
+
+    private final ContentDao contentDao = mock(ContentDao.class);
+    private ContentTrending contentTrending;
+    private long now;
+
+    @BeforeEach
+    void setUp() {
+        contentTrending = new ContentTrending();
+        ReflectionTestUtils.setField(contentTrending, "contentDao", contentDao);
+        ReflectionTestUtils.setField(contentTrending, "topK", 3);
+        ReflectionTestUtils.setField(contentTrending, "refreshMillis", TimeUnit.DAYS.toMillis(1));
+        contentTrending.start();
+        now = System.currentTimeMillis();
+
+        Map<Integer, ContentSummaryView> posts = new HashMap<>();
+        for (int id = 1; id <= 4; id++) {
+            posts.put(id, summary(id));
+        }
+        when(contentDao.findSummariesByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Integer> ids = invocation.getArgument(0);
+            return ids.stream().filter(posts::containsKey).map(posts::get).toList();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        contentTrending.shutdown();
+    }
+
+    @Test
+    void ranksTheMostViewedFirst() {
+        view(1, 5);
+        view(2, 3);
+        view(3, 8);
+        view(4, 1);
+        contentTrending.refresh(now);
+
+        assertThat(ids("1h")).containsExactly(3, 1, 2);
+        assertThat(ids("24h")).containsExactly(3, 1, 2);
+        assertThat(contentTrending.getTop("1h").get(0).getViews()).isGreaterThanOrEqualTo(8);
+        assertThat(contentTrending.getTop("7d")).isNull();
+    }
+
+    @Test
+    void leavesOutPostsDeletedSinceTheirViews() {
+        view(DELETED, 10);
+        view(1, 2);
+        contentTrending.refresh(now);
+
+        assertThat(ids("1h")).containsExactly(1);
+    }
+
+    @Test
+    void expiresViewsOnceTheirBucketLeavesTheWindow() {
+        view(1, 5);
+        contentTrending.refresh(now + TimeUnit.MINUTES.toMillis(30));
+        assertThat(ids("1h")).containsExactly(1);
+
+        // Newer views outrank the expired ones in the hour, while the day still counts both
+        long later = now + TimeUnit.MINUTES.toMillis(61);
+        for (int i = 0; i < 2; i++) {
+            contentTrending.record(2, later);
+        }
+        contentTrending.refresh(later);
+        assertThat(ids("1h")).containsExactly(2);
+        assertThat(ids("24h")).containsExactly(1, 2);
+
+        contentTrending.refresh(now + TimeUnit.HOURS.toMillis(25));
+        assertThat(ids("1h")).isEmpty();
+        assertThat(ids("24h")).isEmpty();
+    }
+
+    private void view(int id, int times) {
+        for (int i = 0; i < times; i++) {
+            contentTrending.record(id, now);
+        }
+    }
+
+    private List<Integer> ids(String window) {
+        return contentTrending.getTop(window).stream().map(entry -> entry.getContent().getId()).toList();
+    }
+
+    private static ContentSummaryView summary(Integer id) {
+        ContentSummaryView summary = mock(ContentSummaryView.class);
+        when(summary.getId()).thenReturn(id);
+        return summary;
+    }
+}
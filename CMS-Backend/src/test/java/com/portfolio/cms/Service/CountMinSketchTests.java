@@ -0,0 +1,65 @@
+package com.portfolio.cms.Service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CountMinSketchTests {
+
+    private static final int DEPTH = 4;
+    private static final int WIDTH = 1024;
+
+    @Test
+    void neverUndercountsAndStaysWithinTheErrorBound() {
+        CountMinSketch sketch = new CountMinSketch(DEPTH, WIDTH);
+        Map<Integer, Long> exact = new HashMap<>();
+        // Skewed like post views: a few keys take most of the adds
+        Random random = new Random(42);
+        int adds = 200_000;
+        for (int i = 0; i < adds; i++) {
+            int key = (int) Math.pow(10_000, random.nextDouble());
+            sketch.add(key, 1);
+            exact.merge(key, 1L, Long::sum);
+        }
+
+        long bound = (long) Math.ceil(Math.E / WIDTH * adds);
+        int outside = 0;
+        for (Map.Entry<Integer, Long> entry : exact.entrySet()) {
+            long estimate = sketch.estimate(entry.getKey());
+            assertThat(estimate).as("estimate of %d", entry.getKey()).isGreaterThanOrEqualTo(entry.getValue());
+            if (estimate - entry.getValue() > bound) {
+                outside++;
+            }
+        }
+        // The bound holds with probability 1 - e^-depth per key
+        assertThat((double) outside / exact.size()).isLessThanOrEqualTo(Math.exp(-DEPTH));
+    }
+
+    @Test
+    void subtractRemovesAnotherSketchsCounts() {
+        CountMinSketch window = new CountMinSketch(DEPTH, WIDTH);
+        CountMinSketch bucket = new CountMinSketch(DEPTH, WIDTH);
+        window.add(7, 5);
+        window.add(8, 2);
+        bucket.add(7, 3);
+
+        window.subtract(bucket);
+        assertThat(window.estimate(7)).isEqualTo(2);
+        assertThat(window.estimate(8)).isEqualTo(2);
+
+        window.clear();
+        assertThat(window.estimate(7)).isZero();
+        assertThat(window.estimate(8)).isZero();
+    }
+
+    @Test
+    void rejectsWidthsThatAreNotPowersOfTwo() {
+        assertThatThrownBy(() -> new CountMinSketch(DEPTH, 1000)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CountMinSketch(0, WIDTH)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
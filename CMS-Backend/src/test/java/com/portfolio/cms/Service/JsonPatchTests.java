@@ -0,0 +1,74 @@
+package com.portfolio.cms.Service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Cases from RFC 6902 appendix A, plus an EditorJS-shaped body
+class JsonPatchTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void appliesEachOperation() throws Exception {
+        assertThat(apply("{\"foo\":[\"bar\",\"baz\"]}", "[{\"op\":\"add\",\"path\":\"/foo/1\",\"value\":\"qux\"}]"))
+                .isEqualTo("{\"foo\":[\"bar\",\"qux\",\"baz\"]}");
+        assertThat(apply("{\"baz\":\"qux\",\"foo\":\"bar\"}", "[{\"op\":\"remove\",\"path\":\"/baz\"}]"))
+                .isEqualTo("{\"foo\":\"bar\"}");
+        assertThat(apply("{\"baz\":\"qux\",\"foo\":\"bar\"}", "[{\"op\":\"replace\",\"path\":\"/baz\",\"value\":\"boo\"}]"))
+                .isEqualTo("{\"baz\":\"boo\",\"foo\":\"bar\"}");
+        assertThat(apply("{\"foo\":[\"all\",\"grass\",\"cows\",\"eat\"]}",
+                "[{\"op\":\"move\",\"from\":\"/foo/1\",\"path\":\"/foo/3\"}]"))
+                .isEqualTo("{\"foo\":[\"all\",\"cows\",\"eat\",\"grass\"]}");
+        assertThat(apply("{\"a\":1}", "[{\"op\":\"copy\",\"from\":\"/a\",\"path\":\"/b\"}]"))
+                .isEqualTo("{\"a\":1,\"b\":1}");
+        assertThat(apply("{\"foo\":[\"bar\"]}", "[{\"op\":\"add\",\"path\":\"/foo/-\",\"value\":\"baz\"}]"))
+                .isEqualTo("{\"foo\":[\"bar\",\"baz\"]}");
+        assertThat(apply("{\"/\":9,\"~1\":10}", "[{\"op\":\"test\",\"path\":\"/~01\",\"value\":10.0}]"))
+                .isEqualTo("{\"/\":9,\"~1\":10}");
+    }
+
+    @Test
+    void editsOneBlockOfABody() throws Exception {
+        String body = "{\"time\":1,\"blocks\":[{\"type\":\"paragraph\",\"data\":{\"text\":\"Helo\"}}," +
+                "{\"type\":\"delimiter\",\"data\":{}}],\"version\":\"2.28.2\"}";
+
+        assertThat(apply(body, "[{\"op\":\"test\",\"path\":\"/blocks/0/data/text\",\"value\":\"Helo\"}," +
+                "{\"op\":\"replace\",\"path\":\"/blocks/0/data/text\",\"value\":\"Hello\"}," +
+                "{\"op\":\"remove\",\"path\":\"/blocks/1\"}]"))
+                .isEqualTo("{\"time\":1,\"blocks\":[{\"type\":\"paragraph\",\"data\":{\"text\":\"Hello\"}}]," +
+                        "\"version\":\"2.28.2\"}");
+    }
+
+    @Test
+    void failingPatchLeavesTheDocumentAlone() throws Exception {
+        JsonNode document = objectMapper.readTree("{\"a\":[1,2]}");
+        JsonNode patch = objectMapper.readTree("[{\"op\":\"remove\",\"path\":\"/a/0\"}," +
+                "{\"op\":\"test\",\"path\":\"/a\",\"value\":[1]}]");
+
+        assertThatThrownBy(() -> JsonPatch.apply(document, patch)).isInstanceOf(IllegalStateException.class);
+        assertThat(document.toString()).isEqualTo("{\"a\":[1,2]}");
+    }
+
+    @Test
+    void tellsMalformedPatchesFromOnesThatDoNotApply() {
+        assertThatThrownBy(() -> apply("{}", "{\"op\":\"add\"}")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> apply("{}", "[{\"op\":\"frobnicate\",\"path\":\"/a\"}]"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> apply("{}", "[{\"op\":\"add\",\"path\":\"/a\"}]"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> apply("{\"foo\":\"bar\"}", "[{\"op\":\"add\",\"path\":\"/baz/bat\",\"value\":1}]"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> apply("{\"foo\":[\"bar\"]}", "[{\"op\":\"add\",\"path\":\"/foo/2\",\"value\":1}]"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> apply("{\"a\":{\"b\":1}}", "[{\"op\":\"move\",\"from\":\"/a\",\"path\":\"/a/c\"}]"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private String apply(String document, String patch) throws Exception {
+        return JsonPatch.apply(objectMapper.readTree(document), objectMapper.readTree(patch)).toString();
+    }
+}
@@ -0,0 +1,53 @@
+package com.portfolio.cms.Service;
+
+import com.portfolio.cms.Dao.AuthDao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserStateCacheTests {
+
+    private final AuthDao authDao = mock(AuthDao.class);
+    private UserStateCache userStateCache;
+
+    @BeforeEach
+    void setUp() {
+        userStateCache = new UserStateCache(60, 100);
+        ReflectionTestUtils.setField(userStateCache, "authDao", authDao);
+    }
+
+    @Test
+    void asksTheDatabaseOncePerUser() {
+        when(authDao.findAdminByEmail("admin@example.com")).thenReturn(Optional.of(true));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(userStateCache.authorities("admin@example.com")).containsExactly(
+                    new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"));
+        }
+        verify(authDao, times(1)).findAdminByEmail("admin@example.com");
+    }
+
+    @Test
+    void remembersMissingUsersAndForgetsOnEvict() {
+        when(authDao.findAdminByEmail("gone@example.com")).thenReturn(Optional.empty());
+
+        assertThat(userStateCache.authorities("gone@example.com")).isNull();
+        assertThat(userStateCache.authorities("gone@example.com")).isNull();
+        verify(authDao, times(1)).findAdminByEmail("gone@example.com");
+
+        when(authDao.findAdminByEmail("gone@example.com")).thenReturn(Optional.of(false));
+        userStateCache.evict("gone@example.com");
+
+        assertThat(userStateCache.authorities("gone@example.com"))
+                .containsExactly(new SimpleGrantedAuthority("ROLE_USER"));
+    }
+}
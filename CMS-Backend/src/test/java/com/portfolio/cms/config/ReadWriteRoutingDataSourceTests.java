@@ -0,0 +1,84 @@
+package com.portfolio.cms.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two in-memory H2 databases stand in for the primary and a replica; each knows its own name.
+// H2 has no SHOW REPLICA STATUS, so the replica only counts as caught up when told to assume it
+class ReadWriteRoutingDataSourceTests {
+
+    private ReadWriteRoutingDataSource routing;
+
+    @AfterEach
+    void close() {
+        routing.destroy();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        JdbcTemplate jdbc = route(database("primary"), database("replica"));
+
+        assertThat(inTransaction(jdbc, true)).isEqualTo("replica");
+        assertThat(inTransaction(jdbc, false)).isEqualTo("primary");
+        assertThat(jdbc.queryForObject("SELECT name FROM node", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenNoReplicaIsUp() {
+        JdbcDataSource missing = new JdbcDataSource();
+        missing.setURL("jdbc:h2:mem:missing;IFEXISTS=TRUE");
+        JdbcTemplate jdbc = route(database("primary"), missing);
+
+        assertThat(inTransaction(jdbc, true)).isEqualTo("primary");
+        assertThat(routing.getStats()).containsEntry("readFallbacksToPrimary", 1L);
+        assertThat(replicaStats()).containsEntry("healthy", false);
+    }
+
+    @Test
+    void replicasWhoseLagCannotBeReadAreLeftOut() {
+        routing = new ReadWriteRoutingDataSource(database("primary"), List.of(database("replica")), 5, 3_600_000,
+                false);
+        routing.checkReplicas();
+        JdbcTemplate jdbc = new JdbcTemplate(new LazyConnectionDataSourceProxy(routing));
+
+        assertThat(inTransaction(jdbc, true)).isEqualTo("primary");
+        assertThat(replicaStats()).containsEntry("healthy", false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> replicaStats() {
+        return ((List<Map<String, Object>>) routing.getStats().get("pools")).get(1);
+    }
+
+    private JdbcTemplate route(DataSource primary, DataSource replica) {
+        routing = new ReadWriteRoutingDataSource(primary, List.of(replica), 5, 3_600_000, true);
+        routing.checkReplicas();
+        return new JdbcTemplate(new LazyConnectionDataSourceProxy(routing));
+    }
+
+    private String inTransaction(JdbcTemplate jdbc, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(jdbc.getDataSource()));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(20))");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+}
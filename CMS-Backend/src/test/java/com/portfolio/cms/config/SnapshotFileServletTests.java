@@ -0,0 +1,104 @@
+package com.portfolio.cms.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Mock requests never offer sendfile, so these go through the transferTo path
+class SnapshotFileServletTests {
+
+    @TempDir
+    Path dir;
+
+    private Path root;
+
+    private SnapshotFileServlet servlet;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        root = dir.resolve("snapshot");
+        Files.createDirectories(root.resolve("content"));
+        Files.writeString(root.resolve("content/1.json"), "{\"id\":1,\"title\":\"Hello\"}");
+        Files.write(root.resolve("content/1.json.gz"), HttpCompression.gzip("{\"id\":1,\"title\":\"Hello\"}"
+                .getBytes(StandardCharsets.UTF_8)));
+        Files.writeString(root.resolve("content/.2.json.tmp"), "{}");
+        servlet = new SnapshotFileServlet(root, 0);
+    }
+
+    @Test
+    void servesFilesWithValidators() throws Exception {
+        MockHttpServletResponse response = get("/content/1.json");
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("{\"id\":1,\"title\":\"Hello\"}");
+        assertThat(response.getContentType()).isEqualTo("application/json");
+        assertThat(response.getContentLengthLong()).isEqualTo(24);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).startsWith("\"18-");
+
+        MockHttpServletResponse revalidated = get("/content/1.json",
+                HttpHeaders.IF_NONE_MATCH, "W/" + response.getHeader(HttpHeaders.ETAG));
+        assertThat(revalidated.getStatus()).isEqualTo(304);
+        assertThat(revalidated.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void servesTheGzipTwinToClientsThatAcceptIt() throws Exception {
+        MockHttpServletResponse response = get("/content/1.json", HttpHeaders.ACCEPT_ENCODING, "gzip, br");
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getContentAsByteArray()).isEqualTo(Files.readAllBytes(root.resolve("content/1.json.gz")));
+        assertThat(response.getHeader(HttpHeaders.ETAG)).endsWith("-gz\"");
+    }
+
+    @Test
+    void servesByteRanges() throws Exception {
+        MockHttpServletResponse first = get("/content/1.json", HttpHeaders.RANGE, "bytes=0-6");
+        assertThat(first.getStatus()).isEqualTo(206);
+        assertThat(first.getContentAsString()).isEqualTo("{\"id\":1");
+        assertThat(first.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 0-6/24");
+
+        MockHttpServletResponse suffix = get("/content/1.json", HttpHeaders.RANGE, "bytes=-2");
+        assertThat(suffix.getContentAsString()).isEqualTo("\"}");
+
+        MockHttpServletResponse past = get("/content/1.json", HttpHeaders.RANGE, "bytes=24-");
+        assertThat(past.getStatus()).isEqualTo(416);
+        assertThat(past.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */24");
+
+        // A stale If-Range gets the whole, current file
+        MockHttpServletResponse stale = get("/content/1.json",
+                HttpHeaders.RANGE, "bytes=0-6", HttpHeaders.IF_RANGE, "\"0-0\"");
+        assertThat(stale.getStatus()).isEqualTo(200);
+        assertThat(stale.getContentLengthLong()).isEqualTo(24);
+    }
+
+    @Test
+    void staysInsideTheRoot() throws Exception {
+        Files.writeString(dir.resolve("secret.json"), "{}");
+
+        assertThat(get("/../secret.json").getStatus()).isEqualTo(404);
+        assertThat(get("/content/.2.json.tmp").getStatus()).isEqualTo(404);
+        assertThat(get("/content").getStatus()).isEqualTo(404);
+        assertThat(get("/content/3.json").getStatus()).isEqualTo(404);
+    }
+
+    private MockHttpServletResponse get(String path, String... headers) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/snapshot" + path);
+        request.setServletPath("/snapshot");
+        request.setPathInfo(path);
+        for (int i = 0; i < headers.length; i += 2) {
+            request.addHeader(headers[i], headers[i + 1]);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.service(request, response);
+        return response;
+    }
+}
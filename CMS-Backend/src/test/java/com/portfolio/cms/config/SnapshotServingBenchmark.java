@@ -0,0 +1,266 @@
+package com.portfolio.cms.config;
+
+import org.apache.catalina.Context;
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.startup.Tomcat;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Throughput and allocation of /snapshot/** against the ResponseEntity&lt;Object&gt; path the
+ * content endpoints use, on one embedded Tomcat:
+ * <pre>
+ *   snapshot   SnapshotFileServlet (sendfile from sendfile-min-bytes, transferTo below)
+ *   cached     a controller returning a byte[] held in memory, like a ContentCache hit
+ *   disk       a controller reading the file per request, like serving it without a cache
+ * </pre>
+ * The client is a bare keep-alive HTTP/1.1 loop that reuses one buffer, so what is allocated
+ * is the server's doing. Not part of the normal build (the name does not end in Tests); run it with
+ * <pre>
+ *   mvn test -Dtest=SnapshotServingBenchmark -Dsurefire.failIfNoSpecifiedTests=false
+ * </pre>
+ */
+class SnapshotServingBenchmark {
+
+    private static final int CONNECTIONS = 8;
+    private static final long WARMUP_MILLIS = 3_000;
+    private static final long MEASURE_MILLIS = 10_000;
+    private static final int[] SIZES = {4 * 1024, 64 * 1024, 1024 * 1024, 16 * 1024 * 1024};
+
+    @TempDir
+    static Path dir;
+
+    static Path root;
+    private static Tomcat tomcat;
+    private static int port;
+
+    @BeforeAll
+    static void start() throws Exception {
+        root = dir.resolve("snapshot");
+        Files.createDirectories(root);
+        for (int size : SIZES) {
+            byte[] body = new byte[size];
+            ThreadLocalRandom.current().nextBytes(body);
+            Files.write(root.resolve(size + ".json"), body);
+        }
+
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(dir.resolve("tomcat").toString());
+        Connector connector = new Connector();
+        connector.setPort(0);
+        tomcat.setConnector(connector);
+
+        Context context = tomcat.addContext("", null);
+        Tomcat.addServlet(context, "snapshot", new SnapshotFileServlet(root, 49152));
+        context.addServletMappingDecoded("/snapshot/*", "snapshot");
+
+        AnnotationConfigWebApplicationContext mvc = new AnnotationConfigWebApplicationContext();
+        mvc.register(CurrentPath.class);
+        Tomcat.addServlet(context, "mvc", new DispatcherServlet(mvc)).setLoadOnStartup(1);
+        context.addServletMappingDecoded("/api/*", "mvc");
+
+        tomcat.start();
+        port = connector.getLocalPort();
+    }
+
+    @AfterAll
+    static void stop() throws Exception {
+        tomcat.stop();
+        tomcat.destroy();
+    }
+
+    @Test
+    void compareServingPaths() throws Exception {
+        System.out.printf("%-10s %10s %12s %10s %14s %8s %10s%n",
+                "path", "size", "requests/s", "MB/s", "alloc/request", "GCs", "GC ms");
+        for (int size : SIZES) {
+            String name = size + ".json";
+            for (String path : List.of("/snapshot/" + name, "/api/cached/" + name, "/api/disk/" + name)) {
+                run(path, WARMUP_MILLIS);
+                Result result = measure(path);
+                System.out.printf("%-10s %10d %12.0f %10.1f %14d %8d %10d%n",
+                        path.split("/")[path.startsWith("/api") ? 2 : 1], size,
+                        result.requests() * 1000.0 / MEASURE_MILLIS,
+                        result.bytes() / 1e6 * 1000.0 / MEASURE_MILLIS,
+                        result.requests() == 0 ? 0 : result.allocated() / result.requests(),
+                        result.gcCount(), result.gcMillis());
+            }
+        }
+    }
+
+    private Result measure(String path) throws Exception {
+        long gcCount = gcCount();
+        long gcMillis = gcMillis();
+        long allocated = allocatedBytes();
+        long[] totals = run(path, MEASURE_MILLIS);
+        return new Result(totals[0], totals[1], allocatedBytes() - allocated,
+                gcCount() - gcCount, gcMillis() - gcMillis);
+    }
+
+    // Requests and body bytes over all connections
+    private long[] run(String path, long millis) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CONNECTIONS);
+        try {
+            long deadline = System.currentTimeMillis() + millis;
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int i = 0; i < CONNECTIONS; i++) {
+                futures.add(clients.submit(() -> {
+                    long requests = 0;
+                    long bytes = 0;
+                    byte[] buffer = new byte[64 * 1024];
+                    byte[] request = ("GET " + path + " HTTP/1.1\r\nHost: localhost\r\n\r\n")
+                            .getBytes(StandardCharsets.US_ASCII);
+                    try (Socket socket = new Socket("localhost", port)) {
+                        InputStream in = socket.getInputStream();
+                        OutputStream out = socket.getOutputStream();
+                        while (System.currentTimeMillis() < deadline) {
+                            out.write(request);
+                            bytes += readResponse(in, buffer);
+                            requests++;
+                        }
+                    }
+                    return new long[]{requests, bytes};
+                }));
+            }
+            long[] totals = new long[2];
+            for (Future<long[]> future : futures) {
+                long[] counts = future.get();
+                totals[0] += counts[0];
+                totals[1] += counts[1];
+            }
+            return totals;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    // Reads the headers into the buffer, then drains Content-Length bytes of body
+    private static long readResponse(InputStream in, byte[] buffer) throws IOException {
+        int filled = 0;
+        int headerEnd = -1;
+        while (headerEnd < 0) {
+            int read = in.read(buffer, filled, buffer.length - filled);
+            if (read < 0) {
+                throw new IOException("Connection closed mid-response");
+            }
+            filled += read;
+            for (int i = Math.max(0, filled - read - 3); i + 3 < filled; i++) {
+                if (buffer[i] == '\r' && buffer[i + 1] == '\n' && buffer[i + 2] == '\r' && buffer[i + 3] == '\n') {
+                    headerEnd = i + 4;
+                    break;
+                }
+            }
+        }
+        String headers = new String(buffer, 0, headerEnd, StandardCharsets.US_ASCII);
+        if (!headers.startsWith("HTTP/1.1 200")) {
+            throw new IOException("Unexpected response: " + headers.lines().findFirst().orElse(""));
+        }
+        long length = contentLength(headers);
+        long remaining = length - (filled - headerEnd);
+        while (remaining > 0) {
+            int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read < 0) {
+                throw new IOException("Connection closed mid-body");
+            }
+            remaining -= read;
+        }
+        return length;
+    }
+
+    private static long contentLength(String headers) throws IOException {
+        for (String line : headers.split("\r\n")) {
+            if (line.regionMatches(true, 0, "Content-Length:", 0, "Content-Length:".length())) {
+                return Long.parseLong(line.substring("Content-Length:".length()).trim());
+            }
+        }
+        throw new IOException("No Content-Length in " + headers);
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (long allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            total += Math.max(0, allocated);
+        }
+        return total;
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static long gcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+
+    private record Result(long requests, long bytes, long allocated, long gcCount, long gcMillis) {
+    }
+
+    @Configuration
+    @EnableWebMvc
+    static class CurrentPath {
+
+        @Bean
+        CurrentPathController currentPathController() {
+            return new CurrentPathController();
+        }
+    }
+
+    @RestController
+    static class CurrentPathController {
+
+        private final Map<String, byte[]> cache = new ConcurrentHashMap<>();
+
+        @GetMapping("/cached/{name}")
+        public ResponseEntity<Object> cached(@PathVariable("name") String name) {
+            byte[] body = cache.computeIfAbsent(name, CurrentPathController::read);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+        }
+
+        @GetMapping("/disk/{name}")
+        public ResponseEntity<Object> disk(@PathVariable("name") String name) {
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(read(name));
+        }
+
+        private static byte[] read(String name) {
+            try {
+                return Files.readAllBytes(root.resolve(name));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}